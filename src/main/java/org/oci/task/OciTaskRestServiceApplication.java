@@ -1,18 +1,63 @@
 package org.oci.task;
 
+import ch.qos.logback.classic.LoggerContext;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.jaxrs.cbor.JacksonCBORProvider;
+import com.fasterxml.jackson.jaxrs.smile.JacksonSmileProvider;
 import io.dropwizard.Application;
+import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
 import io.dropwizard.configuration.SubstitutingSourceProvider;
 import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.hibernate.HibernateBundle;
+import io.dropwizard.hibernate.UnitOfWorkAwareProxyFactory;
+import io.dropwizard.jackson.Jackson;
 import io.dropwizard.migrations.MigrationsBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.federecio.dropwizard.swagger.SwaggerBundle;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
+import org.oci.task.archive.OciTaskArchiver;
+import org.oci.task.config.OciArchiveConfiguration;
+import org.oci.task.config.OciCoalescingConfiguration;
+import org.oci.task.config.OciDescriptionEncodingConfiguration;
+import org.oci.task.config.OciJdbcTuningConfiguration;
+import org.oci.task.config.OciJournalConfiguration;
+import org.oci.task.config.OciStartupConfiguration;
+import org.oci.task.config.OciStorageConfiguration;
+import org.oci.task.core.OciDescriptionCodec;
 import org.oci.task.core.OciTask;
+import org.oci.task.db.OciDescriptionBackfill;
+import org.oci.task.db.OciSchemaCheck;
+import org.oci.task.db.OciTaskCoalescingStore;
 import org.oci.task.db.OciTaskDao;
+import org.oci.task.db.OciTaskMemoryStore;
+import org.oci.task.db.OciTaskReader;
+import org.oci.task.db.OciTaskStore;
+import org.oci.task.db.OciTaskTransactionalStore;
+import org.oci.task.db.OciTaskWriter;
+import org.oci.task.http.OciCompressionFilter;
+import org.oci.task.journal.OciTaskJournal;
+import org.oci.task.journal.OciTaskJournalApplier;
+import org.oci.task.journal.OciTaskJournalReplayer;
+import org.oci.task.journal.OciTaskJournalStore;
+import org.oci.task.logging.OciErrorRateLimitFilter;
+import org.oci.task.logging.OciRequestLoggingFilter;
 import org.oci.task.resources.OciTaskResource;
+import org.oci.task.startup.OciStartupTimer;
+import org.oci.task.startup.OciWarmup;
+import org.oci.task.stats.OciTaskStatsReconciler;
+import org.oci.task.stats.OciTaskStatsStore;
+import org.oci.task.stats.OciTaskStatsTracker;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @brief Entry point for OCI Task REST Service.
@@ -28,10 +73,16 @@ public class OciTaskRestServiceApplication extends Application<OciTaskRestServic
         new HibernateBundle<OciTaskRestServiceConfiguration>(OciTask.class) {
             @Override
             public DataSourceFactory getDataSourceFactory(OciTaskRestServiceConfiguration configuration) {
-                return configuration.getDatabase();
+                final DataSourceFactory database = configuration.getDatabase();
+                database.getProperties().put("hibernate.hbm2ddl.auto",
+                        configuration.getStartup().getSchemaMode().getHbm2ddl());
+                configuration.getJdbcTuning().applyTo(database);
+                return database;
             }
         };
 
+    private final OciStartupTimer startupTimer = new OciStartupTimer();
+
     @Override
     public String getName() {
         return "ocitaskrestservice";
@@ -46,7 +97,22 @@ public class OciTaskRestServiceApplication extends Application<OciTaskRestServic
                 )
         );
 
-        bootstrap.addBundle(hibernateBundle);
+        // Hibernate only connects to the database when it backs the Task storage.
+        bootstrap.addBundle(new ConfiguredBundle<OciTaskRestServiceConfiguration>() {
+            @Override
+            public void initialize(Bootstrap<?> bootstrap) {
+                hibernateBundle.initialize(bootstrap);
+            }
+
+            @Override
+            public void run(OciTaskRestServiceConfiguration configuration, Environment environment) throws Exception {
+                if(configuration.getStorage().getEngine() == OciStorageConfiguration.Engine.HIBERNATE) {
+                    final long started = System.nanoTime();
+                    hibernateBundle.run(configuration, environment);
+                    startupTimer.record("hibernate", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                }
+            }
+        });
 
         bootstrap.addBundle(new MigrationsBundle<OciTaskRestServiceConfiguration>() {
             @Override
@@ -60,15 +126,161 @@ public class OciTaskRestServiceApplication extends Application<OciTaskRestServic
             protected SwaggerBundleConfiguration getSwaggerBundleConfiguration(OciTaskRestServiceConfiguration configuration) {
                 return configuration.swaggerBundleConfiguration;
             }
+
+            @Override
+            public void run(OciTaskRestServiceConfiguration configuration, Environment environment) throws Exception {
+                // Swagger scans every resource when it starts; production may turn it off.
+                if(configuration.swaggerBundleConfiguration.isEnabled()) {
+                    final long started = System.nanoTime();
+                    super.run(configuration, environment);
+                    startupTimer.record("swagger", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                }
+            }
         });
+
+        startupTimer.record("initialize", OciStartupTimer.uptimeMillis());
     }
 
     @Override
     public void run(final OciTaskRestServiceConfiguration configuration,
                     final Environment environment) {
-        final OciTaskDao ociTaskDao = new OciTaskDao(hibernateBundle.getSessionFactory());
+        final long started = System.nanoTime();
+        startupTimer.bind(environment.metrics());
+        environment.lifecycle().addServerLifecycleListener(startupTimer);
+
+        final OciDescriptionEncodingConfiguration descriptionEncoding = configuration.getDescriptionEncoding();
+        OciDescriptionCodec.configure(descriptionEncoding.isEnabled(), descriptionEncoding.getThreshold(),
+                descriptionEncoding.getLevel());
+
+        final OciTaskStatsTracker statsTracker = new OciTaskStatsTracker();
+        final OciTaskStore ociTaskStore = createStore(configuration, environment);
+        final OciTaskReader ociTaskReader = createReader(configuration, environment, ociTaskStore);
+        final OciTaskWriter ociTaskWriter = createWriter(configuration, environment, ociTaskStore, statsTracker);
+        final OciTaskStatsReconciler statsReconciler = new OciTaskStatsReconciler(ociTaskReader, statsTracker,
+                configuration.getStats().getReconcileInterval().toMilliseconds());
+        environment.lifecycle().manage(statsReconciler);
+
+        final OciArchiveConfiguration archive = configuration.getArchive();
+        if(archive.isEnabled() && configuration.getStorage().getEngine() == OciStorageConfiguration.Engine.HIBERNATE) {
+            // Archived Tasks leave the live counts, so reconcile after every run that moved some.
+            environment.lifecycle().manage(new OciTaskArchiver(new UnitOfWorkAwareProxyFactory(hibernateBundle)
+                    .create(OciTaskTransactionalStore.class, OciTaskStore.class, ociTaskStore),
+                    archive.getCompletedAge().toMilliseconds(), archive.getInterval().toMilliseconds(),
+                    archive.getBatchSize(), archive.getBatchPause().toMilliseconds(), archive.getMaxBatchesPerRun(),
+                    statsReconciler::reconcile, environment.metrics()));
+        }
+
+        if(descriptionEncoding.isEnabled() && descriptionEncoding.isBackfill()
+                && configuration.getStorage().getEngine() == OciStorageConfiguration.Engine.HIBERNATE) {
+            environment.lifecycle().manage(new OciDescriptionBackfill(new UnitOfWorkAwareProxyFactory(hibernateBundle)
+                    .create(OciTaskTransactionalStore.class, OciTaskStore.class, ociTaskStore),
+                    descriptionEncoding.getBackfillBatchSize(), descriptionEncoding.getBackfillPause().toMilliseconds(),
+                    environment.metrics()));
+        }
+
+        registerLogging(configuration, environment);
+
+        // JSON is served by the default Jackson provider; Smile and CBOR are negotiated via Accept/Content-Type.
+        final ObjectMapper smileMapper = Jackson.newObjectMapper(new SmileFactory());
+        final ObjectMapper cborMapper = Jackson.newObjectMapper(new CBORFactory());
+        environment.jersey().register(new JacksonSmileProvider(smileMapper));
+        environment.jersey().register(new JacksonCBORProvider(cborMapper));
+
+        environment.jersey().register(new OciCompressionFilter(configuration.getCompression(), environment.metrics()));
+
+        environment.jersey().register(new OciTaskResource(ociTaskReader, ociTaskWriter, statsTracker,
+                configuration.getBulk(), environment.getObjectMapper()));
+
+        final OciStartupConfiguration startup = configuration.getStartup();
+        if(startup.isWarmup()) {
+            final int connections = configuration.getStorage().getEngine() == OciStorageConfiguration.Engine.HIBERNATE
+                    ? configuration.getDatabase().getMinSize() : 1;
+            environment.lifecycle().manage(new OciWarmup(ociTaskReader,
+                    Arrays.asList(environment.getObjectMapper(), smileMapper, cborMapper),
+                    connections, startup.getWarmupIterations(), startupTimer));
+        }
+
+        startupTimer.record("run", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private OciTaskStore createStore(final OciTaskRestServiceConfiguration configuration,
+                                     final Environment environment) {
+        final OciStorageConfiguration storage = configuration.getStorage();
+        if(storage.getEngine() == OciStorageConfiguration.Engine.MEMORY) {
+            final OciTaskMemoryStore memoryStore = new OciTaskMemoryStore(storage.getSegments(),
+                    storage.getJournalFile() != null ? Paths.get(storage.getJournalFile()) : null,
+                    storage.getSnapshotFile() != null ? Paths.get(storage.getSnapshotFile()) : null,
+                    storage.getSnapshotInterval(), storage.isSyncJournal());
+            environment.lifecycle().manage(memoryStore);
+            return memoryStore;
+        }
+
+        environment.lifecycle().manage(new OciSchemaCheck(hibernateBundle.getSessionFactory(),
+                configuration.getArchive().isEnabled(), configuration.getJournal().isEnabled()));
+
+        final OciJdbcTuningConfiguration jdbcTuning = configuration.getJdbcTuning();
+        return new OciTaskDao(hibernateBundle.getSessionFactory(),
+                jdbcTuning.isEnabled() && jdbcTuning.isUseCursorFetch() ? jdbcTuning.getExportFetchSize() : 0,
+                configuration.getArchive().isEnabled());
+    }
+
+    private OciTaskReader createReader(final OciTaskRestServiceConfiguration configuration,
+                                      final Environment environment,
+                                      final OciTaskStore ociTaskStore) {
+        OciTaskReader ociTaskReader = ociTaskStore;
+        if(configuration.getStorage().getEngine() == OciStorageConfiguration.Engine.HIBERNATE) {
+            ociTaskReader = new UnitOfWorkAwareProxyFactory(hibernateBundle)
+                    .create(OciTaskTransactionalStore.class, OciTaskStore.class, ociTaskStore);
+        }
+
+        // Reads open their unit of work only when they lead a load, so coalesced reads hold no connection.
+        final OciCoalescingConfiguration coalescingConfig = configuration.getCoalescing();
+        if(coalescingConfig.isEnabled()) {
+            ociTaskReader = new OciTaskCoalescingStore(ociTaskReader,
+                    coalescingConfig.getTimeout().toMilliseconds(), environment.metrics());
+        }
+        return ociTaskReader;
+    }
+
+    private OciTaskWriter createWriter(final OciTaskRestServiceConfiguration configuration,
+                                      final Environment environment,
+                                      final OciTaskStore ociTaskStore,
+                                      final OciTaskStatsTracker statsTracker) {
+        // Counters follow the mutations that actually reach storage, including replayed journal entries.
+        final OciTaskStatsStore statsStore = new OciTaskStatsStore(ociTaskStore, statsTracker);
+        if(configuration.getStorage().getEngine() == OciStorageConfiguration.Engine.MEMORY) {
+            return statsStore;
+        }
+
+        final UnitOfWorkAwareProxyFactory proxyFactory = new UnitOfWorkAwareProxyFactory(hibernateBundle);
+        final OciJournalConfiguration journalConfig = configuration.getJournal();
+        if(journalConfig.isEnabled()) {
+            final OciTaskJournal journal = new OciTaskJournal(Paths.get(journalConfig.getDirectory()),
+                    (int) journalConfig.getSegmentSize().toBytes(), journalConfig.isSyncOnWrite());
+            final OciTaskJournalApplier applier = proxyFactory.create(OciTaskJournalApplier.class,
+                    OciTaskStore.class, statsStore);
+            environment.lifecycle().manage(new OciTaskJournalReplayer(journal, applier,
+                    journalConfig.getBatchSize(), journalConfig.getPollInterval().toMilliseconds(),
+                    environment.metrics()));
+            return new OciTaskJournalStore(journal, applier::leaseIds, journalConfig.getIdBlockSize());
+        }
+
+        return proxyFactory.create(OciTaskTransactionalStore.class, OciTaskStore.class, statsStore);
+    }
+
+    private void registerLogging(final OciTaskRestServiceConfiguration configuration,
+                                 final Environment environment) {
+        final OciErrorRateLimitFilter errorRateLimitFilter = new OciErrorRateLimitFilter(
+                configuration.getErrorLogRateLimit().getMaxRepeats(),
+                configuration.getErrorLogRateLimit().getWindow().toMilliseconds());
+        final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        errorRateLimitFilter.setContext(loggerContext);
+        errorRateLimitFilter.start();
+        loggerContext.addTurboFilter(errorRateLimitFilter);
 
-        environment.jersey().register(new OciTaskResource(ociTaskDao));
+        environment.metrics().register(MetricRegistry.name(OciErrorRateLimitFilter.class, "suppressed"),
+                (Gauge<Long>) errorRateLimitFilter::getSuppressedCount);
+        environment.jersey().register(new OciRequestLoggingFilter());
     }
 
 }
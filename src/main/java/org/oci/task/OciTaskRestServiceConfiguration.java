@@ -4,6 +4,17 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.Configuration;
 import io.dropwizard.db.DataSourceFactory;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
+import org.oci.task.config.OciArchiveConfiguration;
+import org.oci.task.config.OciBulkConfiguration;
+import org.oci.task.config.OciCoalescingConfiguration;
+import org.oci.task.config.OciCompressionConfiguration;
+import org.oci.task.config.OciDescriptionEncodingConfiguration;
+import org.oci.task.config.OciErrorLogConfiguration;
+import org.oci.task.config.OciJdbcTuningConfiguration;
+import org.oci.task.config.OciJournalConfiguration;
+import org.oci.task.config.OciStartupConfiguration;
+import org.oci.task.config.OciStatsConfiguration;
+import org.oci.task.config.OciStorageConfiguration;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -28,6 +39,160 @@ public class OciTaskRestServiceConfiguration extends Configuration {
         this.database = database;
     }
 
+    @Valid
+    @NotNull
+    private OciJdbcTuningConfiguration jdbcTuning = new OciJdbcTuningConfiguration();
+
+    @JsonProperty("jdbcTuning")
+    public OciJdbcTuningConfiguration getJdbcTuning() {
+        return jdbcTuning;
+    }
+
+    @JsonProperty("jdbcTuning")
+    public void setJdbcTuning(OciJdbcTuningConfiguration jdbcTuning) {
+        this.jdbcTuning = jdbcTuning;
+    }
+
+    @Valid
+    @NotNull
+    private OciStorageConfiguration storage = new OciStorageConfiguration();
+
+    @JsonProperty("storage")
+    public OciStorageConfiguration getStorage() {
+        return storage;
+    }
+
+    @JsonProperty("storage")
+    public void setStorage(OciStorageConfiguration storage) {
+        this.storage = storage;
+    }
+
+    @Valid
+    @NotNull
+    private OciJournalConfiguration journal = new OciJournalConfiguration();
+
+    @JsonProperty("journal")
+    public OciJournalConfiguration getJournal() {
+        return journal;
+    }
+
+    @JsonProperty("journal")
+    public void setJournal(OciJournalConfiguration journal) {
+        this.journal = journal;
+    }
+
+    @Valid
+    @NotNull
+    private OciCompressionConfiguration compression = new OciCompressionConfiguration();
+
+    @JsonProperty("compression")
+    public OciCompressionConfiguration getCompression() {
+        return compression;
+    }
+
+    @JsonProperty("compression")
+    public void setCompression(OciCompressionConfiguration compression) {
+        this.compression = compression;
+    }
+
+    @Valid
+    @NotNull
+    private OciBulkConfiguration bulk = new OciBulkConfiguration();
+
+    @JsonProperty("bulk")
+    public OciBulkConfiguration getBulk() {
+        return bulk;
+    }
+
+    @JsonProperty("bulk")
+    public void setBulk(OciBulkConfiguration bulk) {
+        this.bulk = bulk;
+    }
+
+    @Valid
+    @NotNull
+    private OciCoalescingConfiguration coalescing = new OciCoalescingConfiguration();
+
+    @JsonProperty("coalescing")
+    public OciCoalescingConfiguration getCoalescing() {
+        return coalescing;
+    }
+
+    @JsonProperty("coalescing")
+    public void setCoalescing(OciCoalescingConfiguration coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    @Valid
+    @NotNull
+    private OciArchiveConfiguration archive = new OciArchiveConfiguration();
+
+    @JsonProperty("archive")
+    public OciArchiveConfiguration getArchive() {
+        return archive;
+    }
+
+    @JsonProperty("archive")
+    public void setArchive(OciArchiveConfiguration archive) {
+        this.archive = archive;
+    }
+
+    @Valid
+    @NotNull
+    private OciDescriptionEncodingConfiguration descriptionEncoding = new OciDescriptionEncodingConfiguration();
+
+    @JsonProperty("descriptionEncoding")
+    public OciDescriptionEncodingConfiguration getDescriptionEncoding() {
+        return descriptionEncoding;
+    }
+
+    @JsonProperty("descriptionEncoding")
+    public void setDescriptionEncoding(OciDescriptionEncodingConfiguration descriptionEncoding) {
+        this.descriptionEncoding = descriptionEncoding;
+    }
+
+    @Valid
+    @NotNull
+    private OciStatsConfiguration stats = new OciStatsConfiguration();
+
+    @JsonProperty("stats")
+    public OciStatsConfiguration getStats() {
+        return stats;
+    }
+
+    @JsonProperty("stats")
+    public void setStats(OciStatsConfiguration stats) {
+        this.stats = stats;
+    }
+
+    @Valid
+    @NotNull
+    private OciStartupConfiguration startup = new OciStartupConfiguration();
+
+    @JsonProperty("startup")
+    public OciStartupConfiguration getStartup() {
+        return startup;
+    }
+
+    @JsonProperty("startup")
+    public void setStartup(OciStartupConfiguration startup) {
+        this.startup = startup;
+    }
+
+    @Valid
+    @NotNull
+    private OciErrorLogConfiguration errorLogRateLimit = new OciErrorLogConfiguration();
+
+    @JsonProperty("errorLogRateLimit")
+    public OciErrorLogConfiguration getErrorLogRateLimit() {
+        return errorLogRateLimit;
+    }
+
+    @JsonProperty("errorLogRateLimit")
+    public void setErrorLogRateLimit(OciErrorLogConfiguration errorLogRateLimit) {
+        this.errorLogRateLimit = errorLogRateLimit;
+    }
+
     @JsonProperty("swagger")
     public SwaggerBundleConfiguration swaggerBundleConfiguration;
 
@@ -0,0 +1,31 @@
+package org.oci.task.api;
+
+/**
+ * @brief Media types supported by OCI Task Service in addition to JSON.
+ * @author rajeshkurup@live.com
+ *
+ * JSON stays the default representation. Callers opt into a binary encoding by
+ * sending it in Accept (responses) and Content-Type (requests).
+ */
+public final class OciMediaType {
+
+    /**
+     * @brief Jackson Smile (binary JSON) media type.
+     */
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    /**
+     * @brief CBOR (RFC 8949) media type.
+     */
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    /**
+     * @brief Newline delimited JSON, one document per line, used for bulk import.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private OciMediaType() {
+        // Empty
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.oci.task.api;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * @brief API Request for loading many Tasks by id in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskBatchGetRequest {
+
+    /**
+     * @brief Task identifiers, in the order results are returned.
+     */
+    @NotNull
+    private List<Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.oci.task.api;
+
+import org.oci.task.error.OciError;
+
+/**
+ * @brief Outcome for one requested id of a multi-get in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskBatchResult {
+
+    private long taskId;
+
+    private OciTaskInfo task;
+
+    /**
+     * @brief Set instead of task when the Task does not exist.
+     */
+    private OciError error;
+
+    public OciTaskBatchResult() {
+        // Empty
+    }
+
+    public OciTaskBatchResult(long taskId, OciTaskInfo task, OciError error) {
+        this.taskId = taskId;
+        this.task = task;
+        this.error = error;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(long taskId) {
+        this.taskId = taskId;
+    }
+
+    public OciTaskInfo getTask() {
+        return task;
+    }
+
+    public void setTask(OciTaskInfo task) {
+        this.task = task;
+    }
+
+    public OciError getError() {
+        return error;
+    }
+
+    public void setError(OciError error) {
+        this.error = error;
+    }
+
+}
@@ -0,0 +1,168 @@
+package org.oci.task.api;
+
+import org.oci.task.error.OciError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @brief Progress of a bulk import, streamed back as one NDJSON line per chunk.
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskImportProgress {
+
+    /**
+     * @brief Sequence number of the chunk, starting at 1.
+     */
+    private int chunk;
+
+    /**
+     * @brief First and last input line covered by the chunk.
+     */
+    private long firstLine;
+
+    private long lastLine;
+
+    /**
+     * @brief Tasks stored and lines rejected in this chunk.
+     */
+    private int imported;
+
+    private int failed;
+
+    /**
+     * @brief Tasks stored and lines rejected so far.
+     */
+    private long totalImported;
+
+    private long totalFailed;
+
+    private List<LineError> errors = new ArrayList<LineError>();
+
+    /**
+     * @brief Set on the last line of a successful import.
+     */
+    private boolean done;
+
+    /**
+     * @brief Set when the import stopped early. Lines from firstLine on were not stored.
+     */
+    private boolean aborted;
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public void setChunk(int chunk) {
+        this.chunk = chunk;
+    }
+
+    public long getFirstLine() {
+        return firstLine;
+    }
+
+    public void setFirstLine(long firstLine) {
+        this.firstLine = firstLine;
+    }
+
+    public long getLastLine() {
+        return lastLine;
+    }
+
+    public void setLastLine(long lastLine) {
+        this.lastLine = lastLine;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getTotalImported() {
+        return totalImported;
+    }
+
+    public void setTotalImported(long totalImported) {
+        this.totalImported = totalImported;
+    }
+
+    public long getTotalFailed() {
+        return totalFailed;
+    }
+
+    public void setTotalFailed(long totalFailed) {
+        this.totalFailed = totalFailed;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<LineError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public void setAborted(boolean aborted) {
+        this.aborted = aborted;
+    }
+
+    /**
+     * @brief Why an input line was rejected.
+     */
+    public static class LineError {
+
+        private long line;
+
+        private OciError error;
+
+        public LineError() {
+            // Empty
+        }
+
+        public LineError(long line, OciError error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public OciError getError() {
+            return error;
+        }
+
+        public void setError(OciError error) {
+            this.error = error;
+        }
+
+    }
+
+}
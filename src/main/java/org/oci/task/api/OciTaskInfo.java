@@ -0,0 +1,125 @@
+package org.oci.task.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.oci.task.core.OciTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @brief Immutable view of a Task returned by OCI Task Service APIs.
+ * @author rajeshkurup@live.com
+ *
+ * Decouples API payloads from the JPA entity. Dates are carried as epoch milliseconds.
+ */
+@JsonSerialize(using = OciTaskInfoSerializer.class)
+public final class OciTaskInfo {
+
+    private final long id;
+
+    private final int priority;
+
+    private final String title;
+
+    private final String description;
+
+    private final boolean completed;
+
+    private final Long startDate;
+
+    private final Long dueDate;
+
+    private final Long timeUpdated;
+
+    private final Long timeCreated;
+
+    @JsonCreator
+    public OciTaskInfo(@JsonProperty("id") long id,
+                       @JsonProperty("priority") int priority,
+                       @JsonProperty("title") String title,
+                       @JsonProperty("description") String description,
+                       @JsonProperty("completed") boolean completed,
+                       @JsonProperty("startDate") Long startDate,
+                       @JsonProperty("dueDate") Long dueDate,
+                       @JsonProperty("timeUpdated") Long timeUpdated,
+                       @JsonProperty("timeCreated") Long timeCreated) {
+        this.id = id;
+        this.priority = priority;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.startDate = startDate;
+        this.dueDate = dueDate;
+        this.timeUpdated = timeUpdated;
+        this.timeCreated = timeCreated;
+    }
+
+    /**
+     * @brief Maps a Task entity to its API view.
+     */
+    public static OciTaskInfo from(OciTask task) {
+        return new OciTaskInfo(task.getId(), task.getPriority(), task.getTitle(), task.getDescription(),
+                Boolean.TRUE.equals(task.isCompleted()), toMillis(task.getStartDate()), toMillis(task.getDueDate()),
+                toMillis(task.getTimeUpdated()), toMillis(task.getTimeCreated()));
+    }
+
+    /**
+     * @brief Maps a list of Task entities to their API views, preserving order.
+     */
+    public static List<OciTaskInfo> fromAll(List<OciTask> tasks) {
+        if(tasks == null || tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<OciTaskInfo> infos = new ArrayList<OciTaskInfo>(tasks.size());
+        for(OciTask task : tasks) {
+            infos.add(from(task));
+        }
+        return infos;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Long getStartDate() {
+        return startDate;
+    }
+
+    public Long getDueDate() {
+        return dueDate;
+    }
+
+    public Long getTimeUpdated() {
+        return timeUpdated;
+    }
+
+    public Long getTimeCreated() {
+        return timeCreated;
+    }
+
+    private static Long toMillis(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+
+}
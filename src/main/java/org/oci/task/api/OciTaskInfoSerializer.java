@@ -0,0 +1,80 @@
+package org.oci.task.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * @brief Hand-written serializer for {@link OciTaskInfo}.
+ * @author rajeshkurup@live.com
+ *
+ * Avoids reflective bean introspection and reuses pre-encoded field names, which matters for
+ * large Task lists. Works for every Jackson backed format (JSON, Smile, CBOR).
+ */
+public class OciTaskInfoSerializer extends StdSerializer<OciTaskInfo> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString START_DATE = new SerializedString("startDate");
+    private static final SerializableString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializableString TIME_UPDATED = new SerializedString("timeUpdated");
+    private static final SerializableString TIME_CREATED = new SerializedString("timeCreated");
+
+    public OciTaskInfoSerializer() {
+        super(OciTaskInfo.class);
+    }
+
+    @Override
+    public void serialize(OciTaskInfo task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeFieldName(ID);
+        gen.writeNumber(task.getId());
+        gen.writeFieldName(PRIORITY);
+        gen.writeNumber(task.getPriority());
+        gen.writeFieldName(TITLE);
+        writeString(gen, task.getTitle());
+        gen.writeFieldName(DESCRIPTION);
+        writeString(gen, task.getDescription());
+        gen.writeFieldName(COMPLETED);
+        gen.writeBoolean(task.isCompleted());
+        gen.writeFieldName(START_DATE);
+        writeMillis(gen, task.getStartDate());
+        gen.writeFieldName(DUE_DATE);
+        writeMillis(gen, task.getDueDate());
+        gen.writeFieldName(TIME_UPDATED);
+        writeMillis(gen, task.getTimeUpdated());
+        gen.writeFieldName(TIME_CREATED);
+        writeMillis(gen, task.getTimeCreated());
+
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, String value) throws IOException {
+        if(value != null) {
+            gen.writeString(value);
+        }
+        else {
+            gen.writeNull();
+        }
+    }
+
+    private static void writeMillis(JsonGenerator gen, Long value) throws IOException {
+        if(value != null) {
+            gen.writeNumber(value.longValue());
+        }
+        else {
+            gen.writeNull();
+        }
+    }
+
+}
@@ -1,6 +1,5 @@
 package org.oci.task.api;
 
-import org.oci.task.core.OciTask;
 import org.oci.task.error.OciError;
 
 import java.util.List;
@@ -13,9 +12,13 @@ public class OciTaskServResponse {
 
     private long taskId;
 
-    private OciTask task;
+    private OciTaskInfo task;
 
-    private List<OciTask> tasks;
+    private List<OciTaskInfo> tasks;
+
+    private List<OciTaskBatchResult> results;
+
+    private OciTaskStats stats;
 
     private OciError error;
 
@@ -27,22 +30,38 @@ public class OciTaskServResponse {
         this.taskId = taskId;
     }
 
-    public OciTask getTask() {
+    public OciTaskInfo getTask() {
         return task;
     }
 
-    public void setTask(OciTask task) {
+    public void setTask(OciTaskInfo task) {
         this.task = task;
     }
 
-    public List<OciTask> getTasks() {
+    public List<OciTaskInfo> getTasks() {
         return tasks;
     }
 
-    public void setTasks(List<OciTask> tasks) {
+    public void setTasks(List<OciTaskInfo> tasks) {
         this.tasks = tasks;
     }
 
+    public List<OciTaskBatchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<OciTaskBatchResult> results) {
+        this.results = results;
+    }
+
+    public OciTaskStats getStats() {
+        return stats;
+    }
+
+    public void setStats(OciTaskStats stats) {
+        this.stats = stats;
+    }
+
     public OciError getError() {
         return error;
     }
@@ -0,0 +1,68 @@
+package org.oci.task.api;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @brief Task counts served by the OCI Task Service statistics API.
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskStats {
+
+    private long total;
+
+    private long open;
+
+    private long completed;
+
+    /**
+     * @brief Open Tasks whose due date has passed.
+     */
+    private long overdue;
+
+    /**
+     * @brief Number of Tasks per priority value.
+     */
+    private Map<Integer, Long> byPriority = new TreeMap<Integer, Long>();
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public void setOpen(long open) {
+        this.open = open;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public Map<Integer, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<Integer, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+}
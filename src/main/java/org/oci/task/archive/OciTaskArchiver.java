@@ -0,0 +1,109 @@
+package org.oci.task.archive;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import org.oci.task.db.OciTaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Periodically moves old completed Tasks from the live table into the archive table.
+ * @author rajeshkurup@live.com
+ *
+ * Each batch is one short transaction, followed by a pause, so row locks are held briefly and
+ * live traffic keeps priority. Archived Tasks are still served by getTask and, on request, by
+ * listTasks. Deleting one removes it from the archive, and updating one moves it back to the live table.
+ */
+public class OciTaskArchiver implements Managed {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskArchiver.class);
+
+    private final OciTaskStore ociTaskStore;
+
+    private final long completedAgeMillis;
+
+    private final long intervalMillis;
+
+    private final int batchSize;
+
+    private final long batchPauseMillis;
+
+    private final int maxBatchesPerRun;
+
+    private final Runnable onArchived;
+
+    private final Meter archived;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param ociTaskStore Storage that manages its own unit of work.
+     * @param onArchived Called after a run that moved Tasks.
+     */
+    public OciTaskArchiver(OciTaskStore ociTaskStore, long completedAgeMillis, long intervalMillis, int batchSize,
+                           long batchPauseMillis, int maxBatchesPerRun, Runnable onArchived, MetricRegistry metrics) {
+        this.ociTaskStore = ociTaskStore;
+        this.completedAgeMillis = completedAgeMillis;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.onArchived = onArchived;
+        this.archived = metrics.meter(MetricRegistry.name(OciTaskArchiver.class, "archived"));
+    }
+
+    @Override
+    public void start() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oci-task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::archive, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @brief Moves batches of eligible Tasks until none are left, maxBatchesPerRun is reached or the job is stopped.
+     * @return Number of Tasks moved.
+     */
+    public long archive() {
+        Date completedBefore = new Date(System.currentTimeMillis() - completedAgeMillis);
+        long total = 0;
+        try {
+            for(int batch = 0; batch < maxBatchesPerRun && !Thread.currentThread().isInterrupted(); batch++) {
+                int moved = ociTaskStore.archiveCompleted(completedBefore, batchSize);
+                total += moved;
+                archived.mark(moved);
+                if(moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPauseMillis);
+            }
+        }
+        catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch(Exception ex) {
+            logger.warn("Failed to archive Tasks, retrying on next run - archived={}", total, ex);
+        }
+
+        if(total > 0) {
+            logger.info("Archived Tasks - count={}, completedBefore={}", total, completedBefore);
+            onArchived.run();
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.oci.task.concurrent;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * @brief Collapses concurrent loads of the same key into one.
+ * @author rajeshkurup@live.com
+ *
+ * The first caller for a key runs the loader on its own thread; callers arriving while that load is
+ * in flight wait for and share its result or exception, up to timeoutMillis. Nothing is cached: once
+ * the load completes, the next caller starts a new one. Shared results must therefore be safe to hand
+ * to several threads.
+ */
+public class OciSingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<K, CompletableFuture<V>>();
+
+    private final long timeoutMillis;
+
+    private final Meter loads;
+
+    private final Meter coalesced;
+
+    private final Meter timeouts;
+
+    /**
+     * @param name Metric name prefix.
+     * @param timeoutMillis How long a caller waits for a load started by another caller.
+     */
+    public OciSingleFlight(String name, long timeoutMillis, MetricRegistry metrics) {
+        this.timeoutMillis = timeoutMillis;
+        this.loads = metrics.meter(MetricRegistry.name(name, "loads"));
+        this.coalesced = metrics.meter(MetricRegistry.name(name, "coalesced"));
+        this.timeouts = metrics.meter(MetricRegistry.name(name, "timeouts"));
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<V>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if(existing != null) {
+            coalesced.mark();
+            return await(key, existing);
+        }
+
+        loads.mark();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        }
+        catch(RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+        finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @brief Number of keys currently being loaded.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch(TimeoutException ex) {
+            timeouts.mark();
+            throw new OciSingleFlightTimeoutException("Timed out waiting for in-flight load of " + key, ex);
+        }
+        catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OciSingleFlightTimeoutException("Interrupted waiting for in-flight load of " + key, ex);
+        }
+        catch(ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+}
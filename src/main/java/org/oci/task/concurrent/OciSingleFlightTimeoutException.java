@@ -0,0 +1,15 @@
+package org.oci.task.concurrent;
+
+/**
+ * @brief Raised when a caller gives up waiting for a load started by another caller.
+ * @author rajeshkurup@live.com
+ */
+public class OciSingleFlightTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OciSingleFlightTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
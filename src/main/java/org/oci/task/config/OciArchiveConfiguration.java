@@ -0,0 +1,111 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Archival of old completed Tasks in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciArchiveConfiguration {
+
+    /**
+     * @brief Move old completed Tasks into the archive table and read it as a fallback.
+     * Requires the archive table, created by `db migrate`.
+     */
+    private boolean enabled;
+
+    /**
+     * @brief How long a Task stays in the live table after it was completed (last updated).
+     */
+    @NotNull
+    private Duration completedAge = Duration.days(30);
+
+    /**
+     * @brief Delay between archival runs.
+     */
+    @NotNull
+    private Duration interval = Duration.hours(1);
+
+    /**
+     * @brief Tasks moved per transaction.
+     */
+    @Min(1)
+    private int batchSize = 500;
+
+    /**
+     * @brief Pause between batches, so that archival does not compete with live traffic.
+     */
+    @NotNull
+    private Duration batchPause = Duration.milliseconds(200);
+
+    /**
+     * @brief Most batches per run. The remainder is moved by later runs.
+     */
+    @Min(1)
+    private int maxBatchesPerRun = 1000;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public Duration getCompletedAge() {
+        return completedAge;
+    }
+
+    @JsonProperty
+    public void setCompletedAge(Duration completedAge) {
+        this.completedAge = completedAge;
+    }
+
+    @JsonProperty
+    public Duration getInterval() {
+        return interval;
+    }
+
+    @JsonProperty
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    @JsonProperty
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @JsonProperty
+    public Duration getBatchPause() {
+        return batchPause;
+    }
+
+    @JsonProperty
+    public void setBatchPause(Duration batchPause) {
+        this.batchPause = batchPause;
+    }
+
+    @JsonProperty
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    @JsonProperty
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+
+/**
+ * @brief Limits of the bulk Task APIs in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciBulkConfiguration {
+
+    /**
+     * @brief Input lines per import chunk. Each chunk is stored in one transaction and reported once.
+     */
+    @Min(1)
+    private int importChunkSize = 1000;
+
+    /**
+     * @brief Most ids accepted by one multi-get request.
+     */
+    @Min(1)
+    private int maxBatchGetIds = 500;
+
+    /**
+     * @brief Longest import line in characters. Longer lines are rejected without being buffered.
+     */
+    @Min(1)
+    private int maxImportLineLength = 1024 * 1024;
+
+    @JsonProperty
+    public int getImportChunkSize() {
+        return importChunkSize;
+    }
+
+    @JsonProperty
+    public void setImportChunkSize(int importChunkSize) {
+        this.importChunkSize = importChunkSize;
+    }
+
+    @JsonProperty
+    public int getMaxBatchGetIds() {
+        return maxBatchGetIds;
+    }
+
+    @JsonProperty
+    public void setMaxBatchGetIds(int maxBatchGetIds) {
+        this.maxBatchGetIds = maxBatchGetIds;
+    }
+
+    @JsonProperty
+    public int getMaxImportLineLength() {
+        return maxImportLineLength;
+    }
+
+    @JsonProperty
+    public void setMaxImportLineLength(int maxImportLineLength) {
+        this.maxImportLineLength = maxImportLineLength;
+    }
+
+}
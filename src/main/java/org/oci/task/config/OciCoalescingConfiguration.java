@@ -0,0 +1,45 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Coalescing of identical concurrent Task reads in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciCoalescingConfiguration {
+
+    /**
+     * @brief Share one in-flight database load between concurrent reads of the same Task or Task list.
+     */
+    private boolean enabled = true;
+
+    /**
+     * @brief How long a read waits for a load started by another read before failing.
+     */
+    @NotNull
+    private Duration timeout = Duration.seconds(5);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @JsonProperty
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+}
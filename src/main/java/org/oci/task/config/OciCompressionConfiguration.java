@@ -0,0 +1,96 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief HTTP body compression settings for OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciCompressionConfiguration {
+
+    /**
+     * @brief Compress responses for clients sending Accept-Encoding: gzip.
+     */
+    private boolean enabled = true;
+
+    /**
+     * @brief Responses smaller than this are sent uncompressed.
+     */
+    @NotNull
+    private DataSize minimumEntitySize = DataSize.kibibytes(1);
+
+    /**
+     * @brief Deflate level from 1 (fastest) to 9 (smallest).
+     */
+    @Min(1)
+    @Max(9)
+    private int compressionLevel = 6;
+
+    /**
+     * @brief Accept request bodies sent with Content-Encoding: gzip.
+     */
+    private boolean inflateRequests = true;
+
+    /**
+     * @brief Largest inflated request body mapped to an entity. Larger bodies fail with 413 Payload Too Large.
+     * Streamed imports are not capped.
+     */
+    @NotNull
+    private DataSize maxInflatedRequestSize = DataSize.mebibytes(64);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public DataSize getMinimumEntitySize() {
+        return minimumEntitySize;
+    }
+
+    @JsonProperty
+    public void setMinimumEntitySize(DataSize minimumEntitySize) {
+        this.minimumEntitySize = minimumEntitySize;
+    }
+
+    @JsonProperty
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    @JsonProperty
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    @JsonProperty
+    public boolean isInflateRequests() {
+        return inflateRequests;
+    }
+
+    @JsonProperty
+    public void setInflateRequests(boolean inflateRequests) {
+        this.inflateRequests = inflateRequests;
+    }
+
+    @JsonProperty
+    public DataSize getMaxInflatedRequestSize() {
+        return maxInflatedRequestSize;
+    }
+
+    @JsonProperty
+    public void setMaxInflatedRequestSize(DataSize maxInflatedRequestSize) {
+        this.maxInflatedRequestSize = maxInflatedRequestSize;
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Compressed storage of large Task descriptions in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciDescriptionEncodingConfiguration {
+
+    /**
+     * @brief Store descriptions of at least threshold characters deflated in DESCRIPTION_DATA.
+     * Requires the DESCRIPTION_DATA column, created by `db migrate`. Encoded descriptions stay readable when disabled.
+     */
+    private boolean enabled;
+
+    /**
+     * @brief Shortest description, in characters, that is compressed.
+     */
+    @Min(1)
+    private int threshold = 4096;
+
+    /**
+     * @brief Deflate level, 1 (fastest) to 9 (smallest).
+     */
+    @Min(1)
+    @Max(9)
+    private int level = 6;
+
+    /**
+     * @brief Compress existing descriptions in the background after startup.
+     */
+    private boolean backfill = true;
+
+    /**
+     * @brief Tasks compressed per backfill transaction.
+     */
+    @Min(1)
+    private int backfillBatchSize = 200;
+
+    /**
+     * @brief Pause between backfill batches, so that backfill does not compete with live traffic.
+     */
+    @NotNull
+    private Duration backfillPause = Duration.milliseconds(200);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @JsonProperty
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @JsonProperty
+    public int getLevel() {
+        return level;
+    }
+
+    @JsonProperty
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    @JsonProperty
+    public boolean isBackfill() {
+        return backfill;
+    }
+
+    @JsonProperty
+    public void setBackfill(boolean backfill) {
+        this.backfill = backfill;
+    }
+
+    @JsonProperty
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    @JsonProperty
+    public void setBackfillBatchSize(int backfillBatchSize) {
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    @JsonProperty
+    public Duration getBackfillPause() {
+        return backfillPause;
+    }
+
+    @JsonProperty
+    public void setBackfillPause(Duration backfillPause) {
+        this.backfillPause = backfillPause;
+    }
+
+}
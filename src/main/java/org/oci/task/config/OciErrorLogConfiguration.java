@@ -0,0 +1,47 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Rate limit for repeated WARN/ERROR log events in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciErrorLogConfiguration {
+
+    /**
+     * @brief Identical events allowed per window before further ones are dropped.
+     */
+    @Min(1)
+    private int maxRepeats = 20;
+
+    /**
+     * @brief Length of the rate limit window.
+     */
+    @NotNull
+    private Duration window = Duration.seconds(10);
+
+    @JsonProperty
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    @JsonProperty
+    public void setMaxRepeats(int maxRepeats) {
+        this.maxRepeats = maxRepeats;
+    }
+
+    @JsonProperty
+    public Duration getWindow() {
+        return window;
+    }
+
+    @JsonProperty
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+}
@@ -0,0 +1,244 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.db.DataSourceFactory;
+
+import javax.validation.constraints.Min;
+import java.util.Map;
+
+/**
+ * @brief MySQL Connector/J and connection pool tuning profile for OCI Task Service.
+ * @author rajeshkurup@live.com
+ *
+ * When enabled, the options below are added to the database connection properties, overriding any
+ * value given there. Pool validation settings are only changed when backgroundValidation is set.
+ */
+public class OciJdbcTuningConfiguration {
+
+    private boolean enabled = true;
+
+    /**
+     * @brief Cache prepared statements per connection on the client.
+     */
+    private boolean cachePrepStmts = true;
+
+    /**
+     * @brief Prepared statements cached per connection.
+     */
+    @Min(0)
+    private int prepStmtCacheSize = 250;
+
+    /**
+     * @brief Longest SQL text, in characters, that is cached.
+     */
+    @Min(0)
+    private int prepStmtCacheSqlLimit = 2048;
+
+    /**
+     * @brief Prepare statements on the server, so repeated executions send only parameters.
+     */
+    private boolean useServerPrepStmts = true;
+
+    /**
+     * @brief Send batched inserts and updates as multi-row statements.
+     */
+    private boolean rewriteBatchedStatements = true;
+
+    /**
+     * @brief Stream result sets through a server-side cursor when a fetch size is set.
+     */
+    private boolean useCursorFetch = true;
+
+    /**
+     * @brief Rows fetched per round trip when scanning Tasks in id order or loading archived Tasks.
+     */
+    @Min(0)
+    private int exportFetchSize = 500;
+
+    /**
+     * @brief Statements grouped into one JDBC batch by Hibernate.
+     */
+    @Min(0)
+    private int jdbcBatchSize = 50;
+
+    /**
+     * @brief Answer autocommit, isolation and read-only queries from driver state instead of the server.
+     */
+    private boolean useLocalSessionState = true;
+
+    /**
+     * @brief Reuse server variables read by the first connection for every later one.
+     */
+    private boolean cacheServerConfiguration = true;
+
+    /**
+     * @brief Reuse result set metadata of cached statements.
+     */
+    private boolean cacheResultSetMetadata = true;
+
+    /**
+     * @brief Validate idle connections in the background instead of with a query on every borrow.
+     */
+    private boolean backgroundValidation;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public boolean isCachePrepStmts() {
+        return cachePrepStmts;
+    }
+
+    @JsonProperty
+    public void setCachePrepStmts(boolean cachePrepStmts) {
+        this.cachePrepStmts = cachePrepStmts;
+    }
+
+    @JsonProperty
+    public int getPrepStmtCacheSize() {
+        return prepStmtCacheSize;
+    }
+
+    @JsonProperty
+    public void setPrepStmtCacheSize(int prepStmtCacheSize) {
+        this.prepStmtCacheSize = prepStmtCacheSize;
+    }
+
+    @JsonProperty
+    public int getPrepStmtCacheSqlLimit() {
+        return prepStmtCacheSqlLimit;
+    }
+
+    @JsonProperty
+    public void setPrepStmtCacheSqlLimit(int prepStmtCacheSqlLimit) {
+        this.prepStmtCacheSqlLimit = prepStmtCacheSqlLimit;
+    }
+
+    @JsonProperty
+    public boolean isUseServerPrepStmts() {
+        return useServerPrepStmts;
+    }
+
+    @JsonProperty
+    public void setUseServerPrepStmts(boolean useServerPrepStmts) {
+        this.useServerPrepStmts = useServerPrepStmts;
+    }
+
+    @JsonProperty
+    public boolean isRewriteBatchedStatements() {
+        return rewriteBatchedStatements;
+    }
+
+    @JsonProperty
+    public void setRewriteBatchedStatements(boolean rewriteBatchedStatements) {
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
+    }
+
+    @JsonProperty
+    public boolean isUseCursorFetch() {
+        return useCursorFetch;
+    }
+
+    @JsonProperty
+    public void setUseCursorFetch(boolean useCursorFetch) {
+        this.useCursorFetch = useCursorFetch;
+    }
+
+    @JsonProperty
+    public int getExportFetchSize() {
+        return exportFetchSize;
+    }
+
+    @JsonProperty
+    public void setExportFetchSize(int exportFetchSize) {
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @JsonProperty
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    @JsonProperty
+    public void setJdbcBatchSize(int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @JsonProperty
+    public boolean isUseLocalSessionState() {
+        return useLocalSessionState;
+    }
+
+    @JsonProperty
+    public void setUseLocalSessionState(boolean useLocalSessionState) {
+        this.useLocalSessionState = useLocalSessionState;
+    }
+
+    @JsonProperty
+    public boolean isCacheServerConfiguration() {
+        return cacheServerConfiguration;
+    }
+
+    @JsonProperty
+    public void setCacheServerConfiguration(boolean cacheServerConfiguration) {
+        this.cacheServerConfiguration = cacheServerConfiguration;
+    }
+
+    @JsonProperty
+    public boolean isCacheResultSetMetadata() {
+        return cacheResultSetMetadata;
+    }
+
+    @JsonProperty
+    public void setCacheResultSetMetadata(boolean cacheResultSetMetadata) {
+        this.cacheResultSetMetadata = cacheResultSetMetadata;
+    }
+
+    @JsonProperty
+    public boolean isBackgroundValidation() {
+        return backgroundValidation;
+    }
+
+    @JsonProperty
+    public void setBackgroundValidation(boolean backgroundValidation) {
+        this.backgroundValidation = backgroundValidation;
+    }
+
+    /**
+     * @brief Adds the enabled options to the connection properties and pool settings of the database.
+     */
+    public void applyTo(DataSourceFactory database) {
+        if(!enabled) {
+            return;
+        }
+
+        // Connection properties are passed to Connector/J; hibernate.* ones configure Hibernate.
+        Map<String, String> properties = database.getProperties();
+        properties.put("cachePrepStmts", String.valueOf(cachePrepStmts));
+        properties.put("prepStmtCacheSize", String.valueOf(prepStmtCacheSize));
+        properties.put("prepStmtCacheSqlLimit", String.valueOf(prepStmtCacheSqlLimit));
+        properties.put("useServerPrepStmts", String.valueOf(useServerPrepStmts));
+        properties.put("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+        properties.put("useCursorFetch", String.valueOf(useCursorFetch));
+        properties.put("useLocalSessionState", String.valueOf(useLocalSessionState));
+        properties.put("cacheServerConfiguration", String.valueOf(cacheServerConfiguration));
+        properties.put("cacheResultSetMetadata", String.valueOf(cacheResultSetMetadata));
+        if(jdbcBatchSize > 0) {
+            properties.put("hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize));
+            properties.put("hibernate.order_updates", "true");
+        }
+
+        if(backgroundValidation) {
+            database.setCheckConnectionOnBorrow(false);
+            database.setCheckConnectionWhileIdle(true);
+        }
+    }
+
+}
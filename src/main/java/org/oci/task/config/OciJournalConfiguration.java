@@ -0,0 +1,126 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Local write-ahead journal for Task mutations in OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciJournalConfiguration {
+
+    /**
+     * @brief Acknowledge creates, updates and deletes once journaled instead of once committed to the database.
+     */
+    private boolean enabled;
+
+    /**
+     * @brief Directory holding journal segments and checkpoint.
+     */
+    @NotNull
+    private String directory = "/var/lib/ocitaskrestservice/journal";
+
+    /**
+     * @brief Size of each memory-mapped journal segment.
+     */
+    @NotNull
+    private DataSize segmentSize = DataSize.mebibytes(64);
+
+    /**
+     * @brief Force every append to disk before acknowledging it.
+     */
+    private boolean syncOnWrite = true;
+
+    /**
+     * @brief Journal entries applied to the database per transaction.
+     */
+    @Min(1)
+    private int batchSize = 500;
+
+    /**
+     * @brief Delay between journal drains, and between retries while the database is unavailable.
+     */
+    @NotNull
+    private Duration pollInterval = Duration.milliseconds(100);
+
+    /**
+     * @brief Ids of created Tasks leased from the database at a time.
+     */
+    @Min(1)
+    private int idBlockSize = 1000;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public String getDirectory() {
+        return directory;
+    }
+
+    @JsonProperty
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    @JsonProperty
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    @JsonProperty
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @JsonProperty
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    @JsonProperty
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    @JsonProperty
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @JsonProperty
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    @JsonProperty
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    @JsonProperty
+    public int getIdBlockSize() {
+        return idBlockSize;
+    }
+
+    @JsonProperty
+    public void setIdBlockSize(int idBlockSize) {
+        this.idBlockSize = idBlockSize;
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Startup behaviour of OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciStartupConfiguration {
+
+    public enum SchemaMode {
+        /**
+         * @brief Hibernate creates and alters tables to match the entities. Development only.
+         */
+        UPDATE("update"),
+
+        /**
+         * @brief Hibernate checks that tables match the entities and fails startup otherwise.
+         */
+        VALIDATE("validate"),
+
+        /**
+         * @brief Hibernate does not inspect the schema. Run `db migrate` separately.
+         */
+        NONE("none");
+
+        private final String hbm2ddl;
+
+        SchemaMode(String hbm2ddl) {
+            this.hbm2ddl = hbm2ddl;
+        }
+
+        /**
+         * @brief Value of hibernate.hbm2ddl.auto for this mode.
+         */
+        public String getHbm2ddl() {
+            return hbm2ddl;
+        }
+    }
+
+    @NotNull
+    private SchemaMode schemaMode = SchemaMode.NONE;
+
+    /**
+     * @brief Exercise storage and serialization before the server accepts requests.
+     */
+    private boolean warmup = true;
+
+    /**
+     * @brief Repetitions of each warmup step, so that hot paths are compiled before traffic arrives.
+     */
+    @Min(1)
+    private int warmupIterations = 200;
+
+    @JsonProperty
+    public SchemaMode getSchemaMode() {
+        return schemaMode;
+    }
+
+    @JsonProperty
+    public void setSchemaMode(SchemaMode schemaMode) {
+        this.schemaMode = schemaMode;
+    }
+
+    @JsonProperty
+    public boolean isWarmup() {
+        return warmup;
+    }
+
+    @JsonProperty
+    public void setWarmup(boolean warmup) {
+        this.warmup = warmup;
+    }
+
+    @JsonProperty
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    @JsonProperty
+    public void setWarmupIterations(int warmupIterations) {
+        this.warmupIterations = warmupIterations;
+    }
+
+}
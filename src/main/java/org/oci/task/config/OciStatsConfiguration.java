@@ -0,0 +1,30 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Task statistics counters of OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciStatsConfiguration {
+
+    /**
+     * @brief Delay between resets of the counters from the database. Zero only seeds on start.
+     */
+    @NotNull
+    private Duration reconcileInterval = Duration.minutes(5);
+
+    @JsonProperty
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    @JsonProperty
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+}
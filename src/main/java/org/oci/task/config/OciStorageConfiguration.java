@@ -0,0 +1,116 @@
+package org.oci.task.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @brief Storage engine selection for OCI Task Service.
+ * @author rajeshkurup@live.com
+ */
+public class OciStorageConfiguration {
+
+    public enum Engine {
+        /**
+         * @brief Tasks are persisted in the relational database through Hibernate.
+         */
+        HIBERNATE,
+
+        /**
+         * @brief Tasks are kept in process memory, optionally journaled to local disk.
+         */
+        MEMORY
+    }
+
+    @NotNull
+    private Engine engine = Engine.HIBERNATE;
+
+    /**
+     * @brief Lock stripes of the memory engine.
+     */
+    @Min(1)
+    private int segments = 16;
+
+    /**
+     * @brief Journal file of the memory engine. Tasks are not durable when unset.
+     */
+    private String journalFile;
+
+    /**
+     * @brief Snapshot file of the memory engine. Required when journalFile is set.
+     */
+    private String snapshotFile;
+
+    /**
+     * @brief Mutations between snapshots of the memory engine. Zero snapshots only on shutdown.
+     */
+    @Min(0)
+    private long snapshotInterval = 100000;
+
+    /**
+     * @brief Fsync the memory engine journal after every mutation.
+     */
+    private boolean syncJournal;
+
+    @JsonProperty
+    public Engine getEngine() {
+        return engine;
+    }
+
+    @JsonProperty
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    @JsonProperty
+    public int getSegments() {
+        return segments;
+    }
+
+    @JsonProperty
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    @JsonProperty
+    public String getJournalFile() {
+        return journalFile;
+    }
+
+    @JsonProperty
+    public void setJournalFile(String journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    @JsonProperty
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    @JsonProperty
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    @JsonProperty
+    public long getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    @JsonProperty
+    public void setSnapshotInterval(long snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @JsonProperty
+    public boolean isSyncJournal() {
+        return syncJournal;
+    }
+
+    @JsonProperty
+    public void setSyncJournal(boolean syncJournal) {
+        this.syncJournal = syncJournal;
+    }
+
+}
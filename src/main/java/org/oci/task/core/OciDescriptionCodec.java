@@ -0,0 +1,129 @@
+package org.oci.task.core;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * @brief Storage encoding of large Task descriptions.
+ * @author rajeshkurup@live.com
+ *
+ * An encoded description is [format][payload]. Format RAW is followed by the UTF-8 bytes; format
+ * DEFLATE by the UTF-8 length as an int and the raw deflate stream of those bytes. Descriptions that
+ * do not shrink are stored RAW. Settings are static because JPA instantiates converters itself.
+ */
+public final class OciDescriptionCodec {
+
+    static final byte RAW = 0;
+
+    static final byte DEFLATE = 1;
+
+    private static volatile boolean enabled;
+
+    private static volatile int threshold = 4096;
+
+    private static volatile int level = Deflater.DEFAULT_COMPRESSION;
+
+    private OciDescriptionCodec() {
+        // Static only
+    }
+
+    /**
+     * @param enabled Whether new descriptions of at least threshold characters are stored encoded.
+     * @param threshold Shortest description, in characters, stored encoded.
+     * @param level Deflate level, 1 (fastest) to 9 (smallest).
+     */
+    public static void configure(boolean enabled, int threshold, int level) {
+        OciDescriptionCodec.threshold = threshold;
+        OciDescriptionCodec.level = level;
+        OciDescriptionCodec.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @brief Whether the description belongs in the encoded column rather than the plain one.
+     */
+    public static boolean shouldEncode(String description) {
+        return enabled && description != null && description.length() >= threshold;
+    }
+
+    public static byte[] encode(String description) {
+        if(description == null) {
+            return null;
+        }
+
+        byte[] utf8 = description.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            // Anything not fitting in the raw size is not worth compressing.
+            byte[] compressed = new byte[utf8.length];
+            int length = 0;
+            while(!deflater.finished() && length < compressed.length) {
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            if(deflater.finished() && 1 + 4 + length < 1 + utf8.length) {
+                return ByteBuffer.allocate(1 + 4 + length).put(DEFLATE).putInt(utf8.length)
+                        .put(compressed, 0, length).array();
+            }
+        }
+        finally {
+            deflater.end();
+        }
+
+        return ByteBuffer.allocate(1 + utf8.length).put(RAW).put(utf8).array();
+    }
+
+    public static String decode(byte[] data) {
+        if(data == null) {
+            return null;
+        }
+        if(data.length == 0) {
+            throw new IllegalArgumentException("Encoded description has no format byte");
+        }
+
+        switch(data[0]) {
+            case RAW:
+                return new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE:
+                return new String(inflate(data), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalArgumentException("Unknown description encoding - format=" + data[0]);
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        byte[] utf8 = new byte[ByteBuffer.wrap(data, 1, 4).getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, 5, data.length - 5);
+            int length = 0;
+            while(length < utf8.length) {
+                int inflated = inflater.inflate(utf8, length, utf8.length - length);
+                if(inflated == 0) {
+                    throw new IllegalArgumentException("Truncated encoded description");
+                }
+                length += inflated;
+            }
+            return utf8;
+        }
+        catch(DataFormatException ex) {
+            throw new IllegalArgumentException("Corrupt encoded description", ex);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.oci.task.core;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * @brief Maps a Task description to its encoded binary column.
+ * @author rajeshkurup@live.com
+ */
+@Converter
+public class OciDescriptionConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String description) {
+        return OciDescriptionCodec.encode(description);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        return OciDescriptionCodec.decode(data);
+    }
+
+}
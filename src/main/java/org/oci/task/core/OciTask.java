@@ -15,12 +15,15 @@ import java.util.Date;
  * 	PRIORITY TINYINT,
  * 	TITLE VARCHAR(1024) NOT NULL,
  * 	DESCRIPTION TEXT,
+ * 	DESCRIPTION_DATA MEDIUMBLOB,
  * 	COMPLETED BOOLEAN DEFAULT FALSE,
  * 	START_DATE TIMESTAMP,
  * 	DUE_DATE TIMESTAMP,
  * 	TIME_UPDATED TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
  * 	TIME_CREATED TIMESTAMP DEFAULT CURRENT_TIMESTAMP
  * );
+ *
+ * A description is kept in exactly one of DESCRIPTION and DESCRIPTION_DATA; see {@link OciDescriptionCodec}.
  */
 @Entity
 @Table(name = OciTask.TABLE_NAME)
@@ -32,6 +35,16 @@ public class OciTask {
 
     public static final String TABLE_NAME= "OCI_TASK_REST";
 
+    /**
+     * @brief Table with the same columns holding archived completed Tasks. Not mapped by Hibernate.
+     */
+    public static final String ARCHIVE_TABLE_NAME = "OCI_TASK_REST_ARCHIVE";
+
+    /**
+     * @brief Table holding the next id to lease to a journal, in a row named after the Task table. Not mapped by Hibernate.
+     */
+    public static final String ID_BLOCK_TABLE_NAME = "OCI_TASK_ID_BLOCK";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -45,6 +58,10 @@ public class OciTask {
     @Column(name = "DESCRIPTION", columnDefinition = "TEXT")
     private String description;
 
+    @Convert(converter = OciDescriptionConverter.class)
+    @Column(name = "DESCRIPTION_DATA", columnDefinition = "MEDIUMBLOB")
+    private String encodedDescription;
+
     @Column(name = "COMPLETED", columnDefinition = "BOOLEAN DEFAULT FALSE")
     private boolean completed;
 
@@ -91,11 +108,18 @@ public class OciTask {
     }
 
     public String getDescription() {
-        return description;
+        return encodedDescription != null ? encodedDescription : description;
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        if(OciDescriptionCodec.shouldEncode(description)) {
+            this.encodedDescription = description;
+            this.description = null;
+        }
+        else {
+            this.description = description;
+            this.encodedDescription = null;
+        }
     }
 
     public Boolean isCompleted() {
@@ -0,0 +1,88 @@
+package org.oci.task.db;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Compresses descriptions stored before description encoding was enabled.
+ * @author rajeshkurup@live.com
+ *
+ * Walks the Tasks once in id order after startup, one short transaction per batch followed by a
+ * pause. A failed or interrupted pass is not resumed; the next startup starts over and skips Tasks
+ * already encoded.
+ */
+public class OciDescriptionBackfill implements Managed {
+
+    private static Logger logger = LoggerFactory.getLogger(OciDescriptionBackfill.class);
+
+    private final OciTaskStore ociTaskStore;
+
+    private final int batchSize;
+
+    private final long batchPauseMillis;
+
+    private final Meter batches;
+
+    private ExecutorService executor;
+
+    /**
+     * @param ociTaskStore Storage that manages its own unit of work.
+     */
+    public OciDescriptionBackfill(OciTaskStore ociTaskStore, int batchSize, long batchPauseMillis, MetricRegistry metrics) {
+        this.ociTaskStore = ociTaskStore;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.batches = metrics.meter(MetricRegistry.name(OciDescriptionBackfill.class, "batches"));
+    }
+
+    @Override
+    public void start() throws Exception {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oci-description-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::backfill);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @brief Encodes batches of descriptions until none are left or the job is stopped.
+     * @return Whether the pass completed.
+     */
+    public boolean backfill() {
+        long afterId = 0;
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                long lastId = ociTaskStore.encodeDescriptions(afterId, batchSize);
+                if(lastId == 0) {
+                    logger.info("Backfilled Task descriptions - lastTaskId={}", afterId);
+                    return true;
+                }
+                batches.mark();
+                afterId = lastId;
+                Thread.sleep(batchPauseMillis);
+            }
+        }
+        catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch(Exception ex) {
+            logger.warn("Failed to backfill Task descriptions, retrying on next startup - lastTaskId={}", afterId, ex);
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.oci.task.db;
+
+import io.dropwizard.lifecycle.Managed;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.oci.task.core.OciTask;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @brief Fails startup when the database lacks columns that the Task entity or the enabled features use.
+ * @author rajeshkurup@live.com
+ *
+ * With startup.schemaMode none nothing else checks the schema, and a missing column would only
+ * surface as failing queries once traffic arrives. Registered ahead of the other managed objects
+ * of the hibernate engine, so it runs before warmup and the journal replayer touch the tables.
+ */
+public class OciSchemaCheck implements Managed {
+
+    private static final String DESCRIPTION_DATA = "DESCRIPTION_DATA";
+
+    private final SessionFactory sessionFactory;
+
+    private final boolean archiveEnabled;
+
+    private final boolean journalEnabled;
+
+    public OciSchemaCheck(SessionFactory sessionFactory, boolean archiveEnabled, boolean journalEnabled) {
+        this.sessionFactory = sessionFactory;
+        this.archiveEnabled = archiveEnabled;
+        this.journalEnabled = journalEnabled;
+    }
+
+    @Override
+    public void start() throws Exception {
+        List<String[]> columns = new ArrayList<String[]>();
+        columns.add(new String[] { OciTask.TABLE_NAME, DESCRIPTION_DATA });
+        if(archiveEnabled) {
+            columns.add(new String[] { OciTask.ARCHIVE_TABLE_NAME, DESCRIPTION_DATA });
+        }
+        if(journalEnabled) {
+            columns.add(new String[] { OciTask.ID_BLOCK_TABLE_NAME, "NEXT_ID" });
+        }
+
+        List<String> missing = new ArrayList<String>();
+        try(Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                for(String[] column : columns) {
+                    if(!hasColumn(connection, column[0], column[1])) {
+                        missing.add(column[0] + "." + column[1]);
+                    }
+                }
+            });
+        }
+
+        if(!missing.isEmpty()) {
+            throw new IllegalStateException("Missing columns " + missing
+                    + "; run 'java -jar ocitaskrestservice-1.0.0.jar db migrate ocitaskrestservice.yml' before starting this release");
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try(ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+            return columns.next();
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.oci.task.db;
+
+import com.codahale.metrics.MetricRegistry;
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.concurrent.OciSingleFlight;
+import org.oci.task.core.OciTask;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @brief Read side of Task storage that shares one in-flight load between identical concurrent reads.
+ * @author rajeshkurup@live.com
+ *
+ * Wraps storage that manages its own unit of work, so callers waiting on another caller's load do not
+ * hold a database connection. Returned Tasks may be shared between callers and must not be modified.
+ * A read joining a load that started before a concurrent write may return the state before that write.
+ */
+public class OciTaskCoalescingStore implements OciTaskReader {
+
+    private static final String ALL_TASKS = "findAll";
+
+    private static final String ALL_ARCHIVED_TASKS = "findAllArchived";
+
+    private final OciTaskReader delegate;
+
+    private final OciSingleFlight<Long, Optional<OciTask>> taskLoads;
+
+    private final OciSingleFlight<String, List<OciTask>> listLoads;
+
+    /**
+     * @param timeoutMillis How long a read waits for a load started by another read.
+     */
+    public OciTaskCoalescingStore(OciTaskReader delegate, long timeoutMillis, MetricRegistry metrics) {
+        this.delegate = delegate;
+        this.taskLoads = new OciSingleFlight<Long, Optional<OciTask>>(
+                MetricRegistry.name(OciTaskCoalescingStore.class, "findById"), timeoutMillis, metrics);
+        this.listLoads = new OciSingleFlight<String, List<OciTask>>(
+                MetricRegistry.name(OciTaskCoalescingStore.class, "findAll"), timeoutMillis, metrics);
+    }
+
+    @Override
+    public Optional<OciTask> findById(long id) {
+        return taskLoads.load(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<OciTask> findByIds(List<Long> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public List<OciTask> findAll() {
+        return listLoads.load(ALL_TASKS, () -> Collections.unmodifiableList(delegate.findAll()));
+    }
+
+    @Override
+    public List<OciTask> scan(long afterId, int limit) {
+        return delegate.scan(afterId, limit);
+    }
+
+    @Override
+    public List<OciTask> findArchivedByIds(List<Long> ids) {
+        return delegate.findArchivedByIds(ids);
+    }
+
+    @Override
+    public List<OciTask> findAllArchived() {
+        return listLoads.load(ALL_ARCHIVED_TASKS, () -> Collections.unmodifiableList(delegate.findAllArchived()));
+    }
+
+    @Override
+    public OciTaskStats aggregateStats(Date now) {
+        return delegate.aggregateStats(now);
+    }
+
+    @Override
+    public Map<Long, Long> countOpenByDueDate(Date from) {
+        return delegate.countOpenByDueDate(from);
+    }
+
+}
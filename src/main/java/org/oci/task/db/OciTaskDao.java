@@ -2,38 +2,356 @@ package org.oci.task.db;
 
 import io.dropwizard.hibernate.AbstractDAO;
 import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
 import org.hibernate.query.Query;
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciDescriptionCodec;
 import org.oci.task.core.OciTask;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
  * @brief Data Access Object for persisting Tasks in OCI Task System.
  * @author rajeskurup@live.com
  */
-public class OciTaskDao extends AbstractDAO<OciTask> {
+public class OciTaskDao extends AbstractDAO<OciTask> implements OciTaskStore {
+
+    private static final String INSERT_SQL = "INSERT INTO " + OciTask.TABLE_NAME
+            + " (PRIORITY, TITLE, DESCRIPTION, COMPLETED, START_DATE, DUE_DATE, DESCRIPTION_DATA) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Updating ID to itself turns an existing row into a no-op with zero affected rows.
+    private static final String INSERT_WITH_ID_SQL = "INSERT INTO " + OciTask.TABLE_NAME
+            + " (PRIORITY, TITLE, DESCRIPTION, COMPLETED, START_DATE, DUE_DATE, DESCRIPTION_DATA, ID)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE ID = ID";
+
+    // Setting TIME_UPDATED to itself keeps MySQL from bumping it, so encoding does not delay archival.
+    private static final String ENCODE_DESCRIPTION_SQL = "UPDATE " + OciTask.TABLE_NAME
+            + " SET DESCRIPTION_DATA = ?, DESCRIPTION = NULL, TIME_UPDATED = TIME_UPDATED WHERE ID = ?";
+
+    private static final String ARCHIVE_COLUMNS =
+            "ID, PRIORITY, TITLE, DESCRIPTION, DESCRIPTION_DATA, COMPLETED, START_DATE, DUE_DATE, TIME_UPDATED, TIME_CREATED";
+
+    private final int exportFetchSize;
+
+    private final boolean archiveEnabled;
 
     public OciTaskDao(SessionFactory factory) {
+        this(factory, 0, false);
+    }
+
+    /**
+     * @param exportFetchSize Rows fetched per round trip by scan and findAllArchived. Zero keeps the driver default.
+     * @param archiveEnabled Whether the archive table exists and is used. Archive methods are no-ops otherwise.
+     */
+    public OciTaskDao(SessionFactory factory, int exportFetchSize, boolean archiveEnabled) {
         super(factory);
+        this.exportFetchSize = exportFetchSize;
+        this.archiveEnabled = archiveEnabled;
     }
 
+    @Override
     public Optional<OciTask> findById(long id) {
         return Optional.ofNullable(get(id));
     }
 
+    @Override
+    public List<OciTask> findByIds(List<Long> ids) {
+        return currentSession().byMultipleIds(OciTask.class).multiLoad(ids);
+    }
+
+    @Override
     public OciTask save(OciTask ociTask) {
-        return persist(ociTask);
+        if(ociTask.getId() == 0) {
+            return persist(ociTask);
+        }
+
+        // Update the managed instance so a Task loaded earlier in the same session is not a duplicate.
+        OciTask existing = get(ociTask.getId());
+        if(existing == null && restoreArchived(ociTask.getId())) {
+            existing = get(ociTask.getId());
+        }
+        if(existing == null) {
+            throw new NoSuchElementException("Task not found - taskId=" + ociTask.getId());
+        }
+        existing.setPriority(ociTask.getPriority());
+        existing.setTitle(ociTask.getTitle());
+        existing.setDescription(ociTask.getDescription());
+        existing.setCompleted(ociTask.isCompleted());
+        existing.setStartDate(ociTask.getStartDate());
+        existing.setDueDate(ociTask.getDueDate());
+        return existing;
+    }
+
+    @Override
+    public void saveAll(List<OciTask> ociTasks) {
+        // IDENTITY ids disable Hibernate insert batching, so rows go through one plain JDBC batch.
+        currentSession().doWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for(OciTask ociTask : ociTasks) {
+                    bindInsert(statement, ociTask);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
     }
 
+    @Override
+    public boolean createWithId(OciTask ociTask) {
+        return currentSession().doReturningWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(INSERT_WITH_ID_SQL)) {
+                bindInsert(statement, ociTask);
+                statement.setLong(8, ociTask.getId());
+                return statement.executeUpdate() == 1;
+            }
+        });
+    }
+
+    @Override
+    public long leaseIds(int count) {
+        // The row lock serializes instances. Ids already taken by creates that bypassed the lease are skipped.
+        Number nextId = (Number) currentSession()
+                .createNativeQuery("SELECT NEXT_ID FROM " + OciTask.ID_BLOCK_TABLE_NAME + " WHERE NAME = :name FOR UPDATE")
+                .setParameter("name", OciTask.TABLE_NAME)
+                .uniqueResult();
+        if(nextId == null) {
+            throw new IllegalStateException("Table " + OciTask.ID_BLOCK_TABLE_NAME + " has no row for " + OciTask.TABLE_NAME
+                    + "; run 'java -jar ocitaskrestservice-1.0.0.jar db migrate ocitaskrestservice.yml'");
+        }
+
+        long maxId = maxId(OciTask.TABLE_NAME);
+        if(archiveEnabled) {
+            maxId = Math.max(maxId, maxId(OciTask.ARCHIVE_TABLE_NAME));
+        }
+        long firstId = Math.max(nextId.longValue(), maxId + 1);
+        currentSession()
+                .createNativeQuery("UPDATE " + OciTask.ID_BLOCK_TABLE_NAME + " SET NEXT_ID = :nextId WHERE NAME = :name")
+                .setParameter("nextId", firstId + count)
+                .setParameter("name", OciTask.TABLE_NAME)
+                .executeUpdate();
+        return firstId;
+    }
+
+    @Override
+    public long encodeDescriptions(long afterId, int limit) {
+        if(!OciDescriptionCodec.isEnabled()) {
+            return 0;
+        }
+
+        // Locking the selected rows keeps a concurrent update from being overwritten with the old description.
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = currentSession()
+                .createNativeQuery("SELECT ID, DESCRIPTION FROM " + OciTask.TABLE_NAME
+                        + " WHERE ID > :afterId AND DESCRIPTION_DATA IS NULL AND CHAR_LENGTH(DESCRIPTION) >= :threshold"
+                        + " ORDER BY ID LIMIT :limit FOR UPDATE")
+                .setParameter("afterId", afterId)
+                .setParameter("threshold", OciDescriptionCodec.getThreshold())
+                .setParameter("limit", limit)
+                .list();
+        if(rows.isEmpty()) {
+            return 0;
+        }
+
+        currentSession().doWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(ENCODE_DESCRIPTION_SQL)) {
+                for(Object[] row : rows) {
+                    statement.setBytes(1, OciDescriptionCodec.encode((String) row[1]));
+                    statement.setLong(2, ((Number) row[0]).longValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+        return ((Number) rows.get(rows.size() - 1)[0]).longValue();
+    }
+
+    @Override
     public List<OciTask> findAll() {
         return list(query("FROM org.oci.task.core.OciTask"));
     }
 
+    @Override
+    public List<OciTask> scan(long afterId, int limit) {
+        return list(withFetchSize(query("FROM org.oci.task.core.OciTask WHERE id > :afterId ORDER BY id")
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)));
+    }
+
+    /**
+     * @brief Moves an archived Task back into the live table, so it is updated like any other Task.
+     * The update stamps TIME_UPDATED, so a Task that is still completed is archived again after completedAge.
+     * @return Whether the Task was archived.
+     */
+    private boolean restoreArchived(long id) {
+        if(!archiveEnabled) {
+            return false;
+        }
+
+        int restored = currentSession()
+                .createNativeQuery("INSERT INTO " + OciTask.TABLE_NAME + " (" + ARCHIVE_COLUMNS + ") SELECT "
+                        + ARCHIVE_COLUMNS + " FROM " + OciTask.ARCHIVE_TABLE_NAME + " WHERE ID = :taskId")
+                .setParameter("taskId", id)
+                .executeUpdate();
+        if(restored == 0) {
+            return false;
+        }
+
+        currentSession()
+                .createNativeQuery("DELETE FROM " + OciTask.ARCHIVE_TABLE_NAME + " WHERE ID = :taskId")
+                .setParameter("taskId", id)
+                .executeUpdate();
+        return true;
+    }
+
+    private long maxId(String tableName) {
+        Number maxId = (Number) currentSession()
+                .createNativeQuery("SELECT COALESCE(MAX(ID), 0) FROM " + tableName)
+                .uniqueResult();
+        return maxId.longValue();
+    }
+
+    private static void bindInsert(PreparedStatement statement, OciTask ociTask) throws SQLException {
+        statement.setInt(1, ociTask.getPriority());
+        statement.setString(2, ociTask.getTitle());
+        String description = ociTask.getDescription();
+        boolean encode = OciDescriptionCodec.shouldEncode(description);
+        statement.setString(3, encode ? null : description);
+        statement.setBoolean(4, Boolean.TRUE.equals(ociTask.isCompleted()));
+        statement.setTimestamp(5, toTimestamp(ociTask.getStartDate()));
+        statement.setTimestamp(6, toTimestamp(ociTask.getDueDate()));
+        statement.setBytes(7, encode ? OciDescriptionCodec.encode(description) : null);
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date != null ? new Timestamp(date.getTime()) : null;
+    }
+
+    private Query<OciTask> withFetchSize(Query<OciTask> query) {
+        return exportFetchSize > 0 ? query.setFetchSize(exportFetchSize) : query;
+    }
+
+    @Override
+    public List<OciTask> findArchivedByIds(List<Long> ids) {
+        if(!archiveEnabled || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return currentSession()
+                .createNativeQuery("SELECT * FROM " + OciTask.ARCHIVE_TABLE_NAME + " WHERE ID IN (:ids)", OciTask.class)
+                .setParameterList("ids", ids)
+                .setReadOnly(true)
+                .list();
+    }
+
+    @Override
+    public List<OciTask> findAllArchived() {
+        if(!archiveEnabled) {
+            return Collections.emptyList();
+        }
+
+        NativeQuery<OciTask> query = currentSession()
+                .createNativeQuery("SELECT * FROM " + OciTask.ARCHIVE_TABLE_NAME, OciTask.class);
+        if(exportFetchSize > 0) {
+            query.setFetchSize(exportFetchSize);
+        }
+        return query.setReadOnly(true).list();
+    }
+
+    @Override
+    public int archiveCompleted(Date completedBefore, int limit) {
+        if(!archiveEnabled) {
+            return 0;
+        }
+
+        // Locking the selected rows keeps them from being reopened between the copy and the delete.
+        @SuppressWarnings("unchecked")
+        List<Number> rows = currentSession()
+                .createNativeQuery("SELECT ID FROM " + OciTask.TABLE_NAME
+                        + " WHERE COMPLETED = TRUE AND TIME_UPDATED < :completedBefore LIMIT :limit FOR UPDATE")
+                .setParameter("completedBefore", completedBefore)
+                .setParameter("limit", limit)
+                .list();
+        if(rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<Long>(rows.size());
+        for(Number row : rows) {
+            ids.add(row.longValue());
+        }
+        currentSession()
+                .createNativeQuery("INSERT INTO " + OciTask.ARCHIVE_TABLE_NAME + " (" + ARCHIVE_COLUMNS + ") SELECT "
+                        + ARCHIVE_COLUMNS + " FROM " + OciTask.TABLE_NAME + " WHERE ID IN (:ids)")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        currentSession()
+                .createNativeQuery("DELETE FROM " + OciTask.TABLE_NAME + " WHERE ID IN (:ids)")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        return ids.size();
+    }
+
+    @Override
+    public OciTaskStats aggregateStats(Date now) {
+        OciTaskStats stats = new OciTaskStats();
+        List<Object[]> rows = currentSession()
+                .createQuery("SELECT completed, priority, COUNT(*) FROM org.oci.task.core.OciTask GROUP BY completed, priority", Object[].class)
+                .list();
+        for(Object[] row : rows) {
+            long count = (Long) row[2];
+            if(Boolean.TRUE.equals(row[0])) {
+                stats.setCompleted(stats.getCompleted() + count);
+            }
+            else {
+                stats.setOpen(stats.getOpen() + count);
+            }
+            stats.getByPriority().merge((Integer) row[1], count, Long::sum);
+        }
+        stats.setTotal(stats.getOpen() + stats.getCompleted());
+
+        Long overdue = currentSession()
+                .createQuery("SELECT COUNT(*) FROM org.oci.task.core.OciTask WHERE completed = false AND dueDate < :now", Long.class)
+                .setParameter("now", now)
+                .uniqueResult();
+        stats.setOverdue(overdue != null ? overdue : 0);
+        return stats;
+    }
+
+    @Override
+    public Map<Long, Long> countOpenByDueDate(Date from) {
+        List<Object[]> rows = currentSession()
+                .createQuery("SELECT dueDate, COUNT(*) FROM org.oci.task.core.OciTask WHERE completed = false AND dueDate >= :from GROUP BY dueDate", Object[].class)
+                .setParameter("from", from)
+                .list();
+        Map<Long, Long> counts = new HashMap<Long, Long>(rows.size() * 2);
+        for(Object[] row : rows) {
+            counts.merge(((Date) row[0]).getTime(), (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
     public void delete(long id) {
         Query query = currentSession().createNamedQuery("org.oci.task.core.OciTask.deleteById");
         query.setParameter("taskId", id);
         query.executeUpdate();
+
+        if(archiveEnabled) {
+            currentSession()
+                    .createNativeQuery("DELETE FROM " + OciTask.ARCHIVE_TABLE_NAME + " WHERE ID = :taskId")
+                    .setParameter("taskId", id)
+                    .executeUpdate();
+        }
     }
 
 }
@@ -0,0 +1,957 @@
+package org.oci.task.db;
+
+import io.dropwizard.lifecycle.Managed;
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.zip.CRC32;
+
+/**
+ * @brief In-memory storage engine for Tasks in OCI Task System.
+ * @author rajeshkurup@live.com
+ *
+ * Tasks are spread over lock-striped segments by id. Each segment keeps its Tasks column-wise in
+ * primitive arrays and maps ids to rows with a primitive long-keyed hash map, so a lookup touches
+ * no boxed objects. Optionally every mutation is appended to a journal file, which is folded into
+ * a snapshot file every snapshotInterval mutations and on shutdown; both are replayed on start.
+ * A snapshot runs on a background thread: it moves the journal aside, then copies one segment at
+ * a time, so writers only wait for the segment being copied. Records are full Task states, so
+ * replaying journal records already reflected in the snapshot leaves the same result.
+ * Records in both files are [payload length][CRC32 of payload][payload], so a torn or corrupt
+ * record ends the replay instead of being misread. The snapshot header carries the id sequence,
+ * so ids of deleted Tasks are not handed out again after a restart.
+ */
+public class OciTaskMemoryStore implements OciTaskStore, Managed {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskMemoryStore.class);
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private static final byte OP_PUT = 1;
+
+    private static final byte OP_DELETE = 2;
+
+    private static final int SNAPSHOT_MAGIC = 0x4F435432;
+
+    private static final int MIN_RECORD_SIZE = 9;
+
+    private static final int MAX_RECORD_SIZE = 16 << 20;
+
+    private static final Comparator<OciTask> BY_ID = new Comparator<OciTask>() {
+        @Override
+        public int compare(OciTask left, OciTask right) {
+            return Long.compare(left.getId(), right.getId());
+        }
+    };
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Path journalFile;
+
+    private final Path snapshotFile;
+
+    private final Path oldJournalFile;
+
+    private final long snapshotInterval;
+
+    private final boolean syncJournal;
+
+    private final Object journalLock = new Object();
+
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+
+    private final DataOutputStream record = new DataOutputStream(recordBuffer);
+
+    private final AtomicLong opsSinceSnapshot = new AtomicLong();
+
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    private final Object snapshotLock = new Object();
+
+    private ExecutorService snapshotExecutor;
+
+    private FileOutputStream journalStream;
+
+    private DataOutputStream journal;
+
+    public OciTaskMemoryStore(int segments) {
+        this(segments, null, null, 0, false);
+    }
+
+    /**
+     * @param segments Number of lock stripes, rounded up to a power of two.
+     * @param journalFile Append-only journal, or null to keep Tasks in memory only.
+     * @param snapshotFile Snapshot the journal is folded into. Required with a journal.
+     * @param snapshotInterval Mutations between snapshots; zero snapshots only on shutdown.
+     * @param syncJournal Whether to fsync the journal after every mutation.
+     */
+    public OciTaskMemoryStore(int segments, Path journalFile, Path snapshotFile, long snapshotInterval, boolean syncJournal) {
+        int count = Integer.highestOneBit(Math.max(segments, 1) * 2 - 1);
+        this.segments = new Segment[count];
+        for(int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(64);
+        }
+        this.segmentMask = count - 1;
+        this.journalFile = journalFile;
+        this.snapshotFile = snapshotFile;
+        this.oldJournalFile = journalFile != null ? journalFile.resolveSibling(journalFile.getFileName() + ".old") : null;
+        this.snapshotInterval = snapshotInterval;
+        this.syncJournal = syncJournal;
+
+        if(journalFile != null && snapshotFile == null) {
+            throw new IllegalArgumentException("Snapshot file is required when journal is enabled");
+        }
+    }
+
+    @Override
+    public void start() throws Exception {
+        if(journalFile == null) {
+            return;
+        }
+
+        if(Files.exists(snapshotFile)) {
+            try(CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+                DataInputStream in = new DataInputStream(counter);
+                if(in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a Task snapshot: " + snapshotFile);
+                }
+                sequence.set(in.readLong());
+                if(replay(snapshotFile, in, counter) != Files.size(snapshotFile)) {
+                    throw new IOException("Corrupt Task snapshot: " + snapshotFile);
+                }
+            }
+        }
+
+        // Left behind by a snapshot that did not finish.
+        if(Files.exists(oldJournalFile)) {
+            try(CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(oldJournalFile)))) {
+                replay(oldJournalFile, new DataInputStream(counter), counter);
+            }
+        }
+
+        long validLength = 0;
+        if(Files.exists(journalFile)) {
+            try(CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+                validLength = replay(journalFile, new DataInputStream(counter), counter);
+            }
+        }
+
+        journalStream = new FileOutputStream(journalFile.toFile(), true);
+        // Drop a torn trailing record so that new appends stay readable.
+        journalStream.getChannel().truncate(validLength);
+        journal = new DataOutputStream(new BufferedOutputStream(journalStream));
+
+        if(snapshotInterval > 0) {
+            snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "oci-memory-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        logger.info("Loaded {} Tasks into memory store", size());
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if(journal == null) {
+            return;
+        }
+
+        if(snapshotExecutor != null) {
+            snapshotExecutor.shutdown();
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        snapshot();
+        synchronized(journalLock) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    @Override
+    public Optional<OciTask> findById(long id) {
+        Segment segment = segmentFor(id);
+        long stamp = segment.lock.readLock();
+        try {
+            int slot = segment.index.get(id);
+            return slot == OciLongIntMap.MISSING ? Optional.<OciTask>empty() : Optional.of(segment.read(slot));
+        }
+        finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public OciTask save(OciTask ociTask) {
+        long now = System.currentTimeMillis();
+        boolean create = ociTask.getId() == 0;
+        long id = create ? sequence.incrementAndGet() : ociTask.getId();
+        long timeCreated = now;
+
+        Segment segment = segmentFor(id);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.index.get(id);
+            if(!create) {
+                if(slot == OciLongIntMap.MISSING) {
+                    throw new NoSuchElementException("Task not found - taskId=" + id);
+                }
+                timeCreated = segment.timeCreated[slot];
+            }
+
+            appendPut(id, ociTask, now, timeCreated);
+
+            if(create) {
+                slot = segment.allocate(id);
+            }
+            segment.write(slot, id, ociTask.getPriority(), ociTask.getTitle(), ociTask.getDescription(),
+                    Boolean.TRUE.equals(ociTask.isCompleted()), toMillis(ociTask.getStartDate()),
+                    toMillis(ociTask.getDueDate()), now, timeCreated);
+        }
+        finally {
+            segment.lock.unlockWrite(stamp);
+        }
+
+        ociTask.setId(id);
+        ociTask.setTimeUpdated(new Date(now));
+        ociTask.setTimeCreated(new Date(timeCreated));
+        maybeSnapshot();
+        return ociTask;
+    }
+
+    @Override
+    public boolean createWithId(OciTask ociTask) {
+        long now = System.currentTimeMillis();
+        long id = ociTask.getId();
+
+        Segment segment = segmentFor(id);
+        long stamp = segment.lock.writeLock();
+        try {
+            if(segment.index.get(id) != OciLongIntMap.MISSING) {
+                return false;
+            }
+            appendPut(id, ociTask, now, now);
+            segment.write(segment.allocate(id), id, ociTask.getPriority(), ociTask.getTitle(),
+                    ociTask.getDescription(), Boolean.TRUE.equals(ociTask.isCompleted()),
+                    toMillis(ociTask.getStartDate()), toMillis(ociTask.getDueDate()), now, now);
+        }
+        finally {
+            segment.lock.unlockWrite(stamp);
+        }
+
+        sequence.accumulateAndGet(id, Math::max);
+        ociTask.setTimeUpdated(new Date(now));
+        ociTask.setTimeCreated(new Date(now));
+        maybeSnapshot();
+        return true;
+    }
+
+    @Override
+    public void delete(long id) {
+        Segment segment = segmentFor(id);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.index.get(id);
+            if(slot == OciLongIntMap.MISSING) {
+                return;
+            }
+            appendDelete(id);
+            segment.release(slot);
+        }
+        finally {
+            segment.lock.unlockWrite(stamp);
+        }
+        maybeSnapshot();
+    }
+
+    @Override
+    public List<OciTask> findAll() {
+        List<OciTask> tasks = new ArrayList<OciTask>(size());
+        for(Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                for(int slot = 0; slot < segment.used; slot++) {
+                    if(segment.ids[slot] != 0) {
+                        tasks.add(segment.read(slot));
+                    }
+                }
+            }
+            finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        Collections.sort(tasks, BY_ID);
+        return tasks;
+    }
+
+    @Override
+    public List<OciTask> scan(long afterId, int limit) {
+        List<OciTask> tasks = new ArrayList<OciTask>(Math.min(limit, 1024));
+        long from = afterId;
+        while(tasks.size() < limit) {
+            int wanted = limit - tasks.size();
+            long[] ids = lowestIdsAfter(from, wanted);
+            for(long id : ids) {
+                Optional<OciTask> task = findById(id);
+                if(task.isPresent()) {
+                    tasks.add(task.get());
+                }
+            }
+            if(ids.length < wanted) {
+                break;
+            }
+            // Tasks deleted since the ids were taken leave the page short; continue after the last id.
+            from = ids[ids.length - 1];
+        }
+        return tasks;
+    }
+
+    /**
+     * @brief Lowest count ids above afterId in ascending order, kept in a bounded max-heap while the segments are
+     * walked, so a page costs a pass over the ids but no sort of all of them.
+     */
+    private long[] lowestIdsAfter(long afterId, int count) {
+        long[] heap = new long[Math.min(count, Math.max(size(), 1))];
+        int size = 0;
+        for(Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                for(int slot = 0; slot < segment.used; slot++) {
+                    long id = segment.ids[slot];
+                    if(id <= afterId) {
+                        continue;
+                    }
+                    if(size < heap.length) {
+                        heap[size] = id;
+                        siftUp(heap, size++);
+                    }
+                    else if(id < heap[0]) {
+                        heap[0] = id;
+                        siftDown(heap, size);
+                    }
+                }
+            }
+            finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        long[] ids = Arrays.copyOf(heap, size);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while(index > 0) {
+            int parent = (index - 1) >>> 1;
+            if(heap[parent] >= heap[index]) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while(true) {
+            int largest = index;
+            int left = (index << 1) + 1;
+            int right = left + 1;
+            if(left < size && heap[left] > heap[largest]) {
+                largest = left;
+            }
+            if(right < size && heap[right] > heap[largest]) {
+                largest = right;
+            }
+            if(largest == index) {
+                return;
+            }
+            swap(heap, largest, index);
+            index = largest;
+        }
+    }
+
+    private static void swap(long[] heap, int i, int j) {
+        long id = heap[i];
+        heap[i] = heap[j];
+        heap[j] = id;
+    }
+
+    @Override
+    public long leaseIds(int count) {
+        // The sequence survives restarts only as far as ids were used; unused leased ids were never seen outside.
+        return sequence.getAndAdd(count) + 1;
+    }
+
+    @Override
+    public OciTaskStats aggregateStats(Date now) {
+        OciTaskStats stats = new OciTaskStats();
+        long nowMillis = now.getTime();
+        for(Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                for(int slot = 0; slot < segment.used; slot++) {
+                    if(segment.ids[slot] == 0) {
+                        continue;
+                    }
+                    if(segment.completed[slot]) {
+                        stats.setCompleted(stats.getCompleted() + 1);
+                    }
+                    else {
+                        stats.setOpen(stats.getOpen() + 1);
+                        long dueDate = segment.dueDate[slot];
+                        if(dueDate != NULL_DATE && dueDate < nowMillis) {
+                            stats.setOverdue(stats.getOverdue() + 1);
+                        }
+                    }
+                    stats.getByPriority().merge(segment.priority[slot], 1L, Long::sum);
+                }
+            }
+            finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        stats.setTotal(stats.getOpen() + stats.getCompleted());
+        return stats;
+    }
+
+    @Override
+    public Map<Long, Long> countOpenByDueDate(Date from) {
+        long fromMillis = from.getTime();
+        Map<Long, Long> counts = new HashMap<Long, Long>();
+        for(Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                for(int slot = 0; slot < segment.used; slot++) {
+                    if(segment.ids[slot] != 0 && !segment.completed[slot] && segment.dueDate[slot] != NULL_DATE
+                            && segment.dueDate[slot] >= fromMillis) {
+                        counts.merge(segment.dueDate[slot], 1L, Long::sum);
+                    }
+                }
+            }
+            finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @brief Number of Tasks held in memory.
+     */
+    public int size() {
+        int size = 0;
+        for(Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.index.size();
+            }
+            finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @brief Writes all Tasks to the snapshot file and drops the journal it replaces.
+     */
+    public void snapshot() throws IOException {
+        if(journalFile == null) {
+            return;
+        }
+
+        synchronized(snapshotLock) {
+            rotateJournal();
+            opsSinceSnapshot.set(0);
+
+            Path tmpFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try(FileOutputStream fileStream = new FileOutputStream(tmpFile.toFile());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(sequence.get());
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+                DataOutputStream snapshotRecord = new DataOutputStream(buffer);
+                for(Segment segment : segments) {
+                    Segment copy;
+                    long stamp = segment.lock.readLock();
+                    try {
+                        copy = new Segment(segment);
+                    }
+                    finally {
+                        segment.lock.unlockRead(stamp);
+                    }
+
+                    for(int slot = 0; slot < copy.used; slot++) {
+                        if(copy.ids[slot] != 0) {
+                            buffer.reset();
+                            snapshotRecord.writeByte(OP_PUT);
+                            writePut(snapshotRecord, copy.ids[slot], copy.priority[slot], copy.title[slot],
+                                    copy.description[slot], copy.completed[slot], copy.startDate[slot],
+                                    copy.dueDate[slot], copy.timeUpdated[slot], copy.timeCreated[slot]);
+                            writeRecord(out, buffer);
+                        }
+                    }
+                }
+                out.flush();
+                fileStream.getFD().sync();
+            }
+            Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            Files.deleteIfExists(oldJournalFile);
+        }
+    }
+
+    /**
+     * @brief Waits for a snapshot running in the background to finish.
+     */
+    void awaitSnapshot() throws Exception {
+        if(snapshotExecutor != null) {
+            snapshotExecutor.submit(() -> { }).get();
+        }
+    }
+
+    /**
+     * @brief Moves the journal aside so that the next snapshot covers every record in it.
+     */
+    private void rotateJournal() throws IOException {
+        synchronized(journalLock) {
+            // A snapshot that failed left its journal behind; this snapshot covers both.
+            if(journal == null || Files.exists(oldJournalFile)) {
+                return;
+            }
+            journal.close();
+            try {
+                Files.move(journalFile, oldJournalFile, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+            }
+            finally {
+                journalStream = new FileOutputStream(journalFile.toFile(), true);
+                journal = new DataOutputStream(new BufferedOutputStream(journalStream));
+            }
+        }
+    }
+
+    private void syncDirectory() {
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        try(FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        catch(IOException ex) {
+            // Some platforms cannot open a directory; renames there are durable or cannot be made so.
+            logger.debug("Cannot sync snapshot directory - directory={}", directory, ex);
+        }
+    }
+
+    private Segment segmentFor(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return segments[(int) (h >>> 40) & segmentMask];
+    }
+
+    private void maybeSnapshot() {
+        if(snapshotExecutor == null || opsSinceSnapshot.incrementAndGet() < snapshotInterval) {
+            return;
+        }
+
+        if(snapshotting.compareAndSet(false, true)) {
+            try {
+                snapshotExecutor.execute(() -> {
+                    try {
+                        snapshot();
+                    }
+                    catch(IOException ex) {
+                        logger.warn("Failed to snapshot memory store - snapshotFile={}", snapshotFile, ex);
+                    }
+                    finally {
+                        snapshotting.set(false);
+                    }
+                });
+            }
+            catch(RejectedExecutionException ex) {
+                // Shutting down; stop() takes the final snapshot.
+                snapshotting.set(false);
+            }
+        }
+    }
+
+    private void appendPut(long id, OciTask ociTask, long timeUpdated, long timeCreated) {
+        if(journalFile == null) {
+            return;
+        }
+        synchronized(journalLock) {
+            if(journal == null) {
+                return;
+            }
+            try {
+                recordBuffer.reset();
+                record.writeByte(OP_PUT);
+                writePut(record, id, ociTask.getPriority(), ociTask.getTitle(), ociTask.getDescription(),
+                        Boolean.TRUE.equals(ociTask.isCompleted()), toMillis(ociTask.getStartDate()),
+                        toMillis(ociTask.getDueDate()), timeUpdated, timeCreated);
+                writeRecord(journal, recordBuffer);
+                flushJournal();
+            }
+            catch(IOException ex) {
+                throw new UncheckedIOException("Failed to append to Task journal", ex);
+            }
+        }
+    }
+
+    private void appendDelete(long id) {
+        if(journalFile == null) {
+            return;
+        }
+        synchronized(journalLock) {
+            if(journal == null) {
+                return;
+            }
+            try {
+                recordBuffer.reset();
+                record.writeByte(OP_DELETE);
+                record.writeLong(id);
+                writeRecord(journal, recordBuffer);
+                flushJournal();
+            }
+            catch(IOException ex) {
+                throw new UncheckedIOException("Failed to append to Task journal", ex);
+            }
+        }
+    }
+
+    private void flushJournal() throws IOException {
+        journal.flush();
+        if(syncJournal) {
+            journalStream.getFD().sync();
+        }
+    }
+
+    /**
+     * @return Number of bytes up to the end of the last intact record.
+     */
+    private long replay(Path file, DataInputStream in, CountingInputStream counter) throws IOException {
+        long validLength = counter.getCount();
+        while(true) {
+            byte[] payload;
+            try {
+                int length = in.readInt();
+                if(length < MIN_RECORD_SIZE || length > MAX_RECORD_SIZE) {
+                    logger.warn("Corrupt Task record, ignoring the rest - file={}, offset={}, length={}", file, validLength, length);
+                    return validLength;
+                }
+                int checksum = in.readInt();
+                payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload, 0, length);
+                if((int) crc.getValue() != checksum) {
+                    logger.warn("Corrupt Task record, ignoring the rest - file={}, offset={}", file, validLength);
+                    return validLength;
+                }
+            }
+            catch(EOFException ex) {
+                return validLength;
+            }
+
+            DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(payload));
+            byte op = recordIn.readByte();
+            long id = recordIn.readLong();
+            if(op == OP_PUT) {
+                applyPut(id, recordIn);
+            }
+            else if(op == OP_DELETE) {
+                Segment segment = segmentFor(id);
+                int slot = segment.index.get(id);
+                if(slot != OciLongIntMap.MISSING) {
+                    segment.release(slot);
+                }
+            }
+            else {
+                throw new IOException("Unknown Task record - file=" + file + ", op=" + op);
+            }
+            if(id > sequence.get()) {
+                sequence.set(id);
+            }
+            validLength = counter.getCount();
+        }
+    }
+
+    private void applyPut(long id, DataInput in) throws IOException {
+        int priority = in.readInt();
+        String title = readString(in);
+        String description = readString(in);
+        boolean completed = in.readBoolean();
+        long startDate = in.readLong();
+        long dueDate = in.readLong();
+        long timeUpdated = in.readLong();
+        long timeCreated = in.readLong();
+
+        Segment segment = segmentFor(id);
+        int slot = segment.index.get(id);
+        if(slot == OciLongIntMap.MISSING) {
+            slot = segment.allocate(id);
+        }
+        segment.write(slot, id, priority, title, description, completed, startDate, dueDate, timeUpdated, timeCreated);
+    }
+
+    private static void writePut(DataOutput out, long id, int priority, String title, String description,
+                                 boolean completed, long startDate, long dueDate, long timeUpdated,
+                                 long timeCreated) throws IOException {
+        out.writeLong(id);
+        out.writeInt(priority);
+        writeString(out, title);
+        writeString(out, description);
+        out.writeBoolean(completed);
+        out.writeLong(startDate);
+        out.writeLong(dueDate);
+        out.writeLong(timeUpdated);
+        out.writeLong(timeCreated);
+    }
+
+    private static void writeRecord(DataOutput out, ByteArrayOutputStream payload) throws IOException {
+        if(payload.size() > MAX_RECORD_SIZE) {
+            throw new IOException("Task record too large - size=" + payload.size());
+        }
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        out.writeInt(bytes.length);
+        out.writeInt((int) crc.getValue());
+        out.write(bytes);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if(value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if(length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : NULL_DATE;
+    }
+
+    private static Date toDate(long millis) {
+        return millis != NULL_DATE ? new Date(millis) : null;
+    }
+
+    /**
+     * @brief One lock stripe holding its Tasks column-wise.
+     */
+    private static final class Segment {
+
+        final StampedLock lock = new StampedLock();
+
+        final OciLongIntMap index;
+
+        long[] ids;
+        int[] priority;
+        String[] title;
+        String[] description;
+        boolean[] completed;
+        long[] startDate;
+        long[] dueDate;
+        long[] timeUpdated;
+        long[] timeCreated;
+
+        int[] freeSlots;
+
+        int freeCount;
+
+        int used;
+
+        Segment(int capacity) {
+            index = new OciLongIntMap(capacity);
+            ids = new long[capacity];
+            priority = new int[capacity];
+            title = new String[capacity];
+            description = new String[capacity];
+            completed = new boolean[capacity];
+            startDate = new long[capacity];
+            dueDate = new long[capacity];
+            timeUpdated = new long[capacity];
+            timeCreated = new long[capacity];
+            freeSlots = new int[capacity];
+        }
+
+        /**
+         * @brief Copies the rows of another segment, without an index, to be written out unlocked.
+         */
+        Segment(Segment source) {
+            index = null;
+            used = source.used;
+            ids = Arrays.copyOf(source.ids, used);
+            priority = Arrays.copyOf(source.priority, used);
+            title = Arrays.copyOf(source.title, used);
+            description = Arrays.copyOf(source.description, used);
+            completed = Arrays.copyOf(source.completed, used);
+            startDate = Arrays.copyOf(source.startDate, used);
+            dueDate = Arrays.copyOf(source.dueDate, used);
+            timeUpdated = Arrays.copyOf(source.timeUpdated, used);
+            timeCreated = Arrays.copyOf(source.timeCreated, used);
+        }
+
+        int allocate(long id) {
+            int slot;
+            if(freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            }
+            else {
+                if(used == ids.length) {
+                    grow(ids.length << 1);
+                }
+                slot = used++;
+            }
+            ids[slot] = id;
+            index.put(id, slot);
+            return slot;
+        }
+
+        void release(int slot) {
+            index.remove(ids[slot]);
+            ids[slot] = 0;
+            title[slot] = null;
+            description[slot] = null;
+            freeSlots[freeCount++] = slot;
+        }
+
+        void write(int slot, long id, int priority, String title, String description, boolean completed,
+                   long startDate, long dueDate, long timeUpdated, long timeCreated) {
+            this.ids[slot] = id;
+            this.priority[slot] = priority;
+            this.title[slot] = title;
+            this.description[slot] = description;
+            this.completed[slot] = completed;
+            this.startDate[slot] = startDate;
+            this.dueDate[slot] = dueDate;
+            this.timeUpdated[slot] = timeUpdated;
+            this.timeCreated[slot] = timeCreated;
+        }
+
+        OciTask read(int slot) {
+            OciTask task = new OciTask();
+            task.setId(ids[slot]);
+            task.setPriority(priority[slot]);
+            task.setTitle(title[slot]);
+            task.setDescription(description[slot]);
+            task.setCompleted(completed[slot]);
+            task.setStartDate(toDate(startDate[slot]));
+            task.setDueDate(toDate(dueDate[slot]));
+            task.setTimeUpdated(toDate(timeUpdated[slot]));
+            task.setTimeCreated(toDate(timeCreated[slot]));
+            return task;
+        }
+
+        private void grow(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            title = Arrays.copyOf(title, capacity);
+            description = Arrays.copyOf(description, capacity);
+            completed = Arrays.copyOf(completed, capacity);
+            startDate = Arrays.copyOf(startDate, capacity);
+            dueDate = Arrays.copyOf(dueDate, capacity);
+            timeUpdated = Arrays.copyOf(timeUpdated, capacity);
+            timeCreated = Arrays.copyOf(timeCreated, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+
+    }
+
+    /**
+     * @brief Tracks how many journal bytes have been consumed.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if(n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.oci.task.db;
+
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @brief Read side of Task storage in OCI Task System.
+ * @author rajeshkurup@live.com
+ */
+public interface OciTaskReader {
+
+    /**
+     * @brief Loads a Task by its identifier.
+     */
+    Optional<OciTask> findById(long id);
+
+    /**
+     * @brief Loads Tasks by their identifiers.
+     * @return One entry per id in the order given, null where the Task does not exist.
+     */
+    default List<OciTask> findByIds(List<Long> ids) {
+        List<OciTask> tasks = new ArrayList<OciTask>(ids.size());
+        for(Long id : ids) {
+            tasks.add(findById(id).orElse(null));
+        }
+        return tasks;
+    }
+
+    /**
+     * @brief Loads every Task.
+     */
+    List<OciTask> findAll();
+
+    /**
+     * @brief Loads up to limit Tasks with id greater than afterId, ordered by id.
+     */
+    List<OciTask> scan(long afterId, int limit);
+
+    /**
+     * @brief Loads archived Tasks with the given identifiers, in no particular order.
+     */
+    default List<OciTask> findArchivedByIds(List<Long> ids) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @brief Loads every archived Task.
+     */
+    default List<OciTask> findAllArchived() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @brief Counts Tasks by completion state and priority, and open Tasks due before now.
+     */
+    OciTaskStats aggregateStats(Date now);
+
+    /**
+     * @brief Counts open Tasks due at or after from, by due date in milliseconds.
+     */
+    Map<Long, Long> countOpenByDueDate(Date from);
+
+}
@@ -0,0 +1,45 @@
+package org.oci.task.db;
+
+import org.oci.task.core.OciTask;
+
+import java.util.Date;
+
+/**
+ * @brief Storage engine for Tasks in OCI Task System.
+ * @author rajeshkurup@live.com
+ *
+ * Implemented by the Hibernate backed {@link OciTaskDao} and the in-memory {@link OciTaskMemoryStore}.
+ * Adds the maintenance operations of background jobs to the read and write sides.
+ */
+public interface OciTaskStore extends OciTaskReader, OciTaskWriter {
+
+    /**
+     * @brief Creates a Task under the id it already carries, unless a Task with that id exists.
+     * Applies creates whose id was assigned before they reached storage, so applying one twice is harmless.
+     * @return Whether the Task was created.
+     */
+    boolean createWithId(OciTask ociTask);
+
+    /**
+     * @brief Reserves count consecutive ids for createWithId that are never handed out again, by any instance.
+     * @return First id of the block.
+     */
+    long leaseIds(int count);
+
+    /**
+     * @brief Moves descriptions that should be encoded into the encoded column, for up to limit Tasks after afterId.
+     * @return Id of the last Task encoded, or zero when none is left.
+     */
+    default long encodeDescriptions(long afterId, int limit) {
+        return 0;
+    }
+
+    /**
+     * @brief Moves up to limit Tasks completed and last updated before the given time into the archive.
+     * @return Number of Tasks moved.
+     */
+    default int archiveCompleted(Date completedBefore, int limit) {
+        return 0;
+    }
+
+}
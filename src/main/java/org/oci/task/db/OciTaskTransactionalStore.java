@@ -0,0 +1,117 @@
+package org.oci.task.db;
+
+import io.dropwizard.hibernate.UnitOfWork;
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciTask;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @brief Runs every call on the wrapped Task storage in its own unit of work.
+ * @author rajeshkurup@live.com
+ *
+ * Must be instantiated through UnitOfWorkAwareProxyFactory. Used for write APIs, which must not open a
+ * database transaction up front since writes may be deferred to the journal instead.
+ */
+public class OciTaskTransactionalStore implements OciTaskStore {
+
+    private final OciTaskStore delegate;
+
+    public OciTaskTransactionalStore(OciTaskStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public Optional<OciTask> findById(long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public List<OciTask> findByIds(List<Long> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    @UnitOfWork
+    public OciTask save(OciTask ociTask) {
+        return delegate.save(ociTask);
+    }
+
+    @Override
+    @UnitOfWork
+    public void saveAll(List<OciTask> ociTasks) {
+        delegate.saveAll(ociTasks);
+    }
+
+    @Override
+    @UnitOfWork
+    public void delete(long id) {
+        delegate.delete(id);
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public List<OciTask> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public List<OciTask> scan(long afterId, int limit) {
+        return delegate.scan(afterId, limit);
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public List<OciTask> findArchivedByIds(List<Long> ids) {
+        return delegate.findArchivedByIds(ids);
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public List<OciTask> findAllArchived() {
+        return delegate.findAllArchived();
+    }
+
+    @Override
+    @UnitOfWork
+    public boolean createWithId(OciTask ociTask) {
+        return delegate.createWithId(ociTask);
+    }
+
+    @Override
+    @UnitOfWork
+    public long leaseIds(int count) {
+        return delegate.leaseIds(count);
+    }
+
+    @Override
+    @UnitOfWork
+    public long encodeDescriptions(long afterId, int limit) {
+        return delegate.encodeDescriptions(afterId, limit);
+    }
+
+    @Override
+    @UnitOfWork
+    public int archiveCompleted(Date completedBefore, int limit) {
+        return delegate.archiveCompleted(completedBefore, limit);
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public OciTaskStats aggregateStats(Date now) {
+        return delegate.aggregateStats(now);
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public Map<Long, Long> countOpenByDueDate(Date from) {
+        return delegate.countOpenByDueDate(from);
+    }
+
+}
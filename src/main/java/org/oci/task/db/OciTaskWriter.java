@@ -0,0 +1,42 @@
+package org.oci.task.db;
+
+import org.oci.task.core.OciTask;
+
+import java.util.List;
+
+/**
+ * @brief Write side of Task storage in OCI Task System.
+ * @author rajeshkurup@live.com
+ *
+ * Implemented by every {@link OciTaskStore}, and on its own by the journal that defers writes.
+ */
+public interface OciTaskWriter {
+
+    /**
+     * @brief Creates a Task when its id is zero, otherwise replaces the existing Task, whether live or archived.
+     * @return The stored Task with its id populated.
+     */
+    OciTask save(OciTask ociTask);
+
+    /**
+     * @brief Creates every Task in the list, whose ids must be zero. Ids are not populated.
+     */
+    default void saveAll(List<OciTask> ociTasks) {
+        for(OciTask ociTask : ociTasks) {
+            save(ociTask);
+        }
+    }
+
+    /**
+     * @brief Deletes a Task, whether live or archived. Deleting an unknown id is a no-op.
+     */
+    void delete(long id);
+
+    /**
+     * @brief Whether mutations are acknowledged before they reach the database.
+     */
+    default boolean isDeferred() {
+        return false;
+    }
+
+}
@@ -0,0 +1,366 @@
+package org.oci.task.http;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.oci.task.config.OciCompressionConfiguration;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @brief Gzip compression of response bodies and inflation of request bodies for OCI Task Service.
+ * @author rajeshkurup@live.com
+ *
+ * Compression is done here rather than in Jetty so that compression ratio and time can be
+ * reported as metrics. A response is buffered up to the configured minimum size; smaller bodies
+ * are sent as-is, larger ones are streamed through a gzip encoder. Inflated request bodies are
+ * capped, so a small gzip bomb cannot expand into an unbounded entity. Bodies read as an InputStream
+ * are left compressed: the resource streams them without buffering and inflates them itself.
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class OciCompressionFilter implements ContainerResponseFilter, WriterInterceptor, ReaderInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    private static final String COMPRESS_PROPERTY = OciCompressionFilter.class.getName() + ".compress";
+
+    private final OciCompressionConfiguration config;
+
+    private final Histogram ratio;
+
+    private final Timer time;
+
+    private final Counter bytesIn;
+
+    private final Counter bytesOut;
+
+    public OciCompressionFilter(OciCompressionConfiguration config, MetricRegistry metrics) {
+        this.config = config;
+        this.ratio = metrics.histogram(MetricRegistry.name(OciCompressionFilter.class, "ratio-percent"));
+        this.time = metrics.timer(MetricRegistry.name(OciCompressionFilter.class, "time"));
+        this.bytesIn = metrics.counter(MetricRegistry.name(OciCompressionFilter.class, "bytes-in"));
+        this.bytesOut = metrics.counter(MetricRegistry.name(OciCompressionFilter.class, "bytes-out"));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        // Streamed responses flush progress as they go, which buffering for the threshold would hold back.
+        if(!config.isEnabled() || !responseContext.hasEntity()
+                || responseContext.getEntity() instanceof StreamingOutput
+                || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if(acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+            requestContext.setProperty(COMPRESS_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if(!Boolean.TRUE.equals(context.getProperty(COMPRESS_PROPERTY))) {
+            context.proceed();
+            return;
+        }
+
+        ThresholdGzipOutputStream out = new ThresholdGzipOutputStream(context.getOutputStream(),
+                context.getHeaders(), (int) config.getMinimumEntitySize().toBytes(), config.getCompressionLevel());
+        context.setOutputStream(out);
+        context.proceed();
+        out.finish();
+
+        if(out.isCompressed()) {
+            bytesIn.inc(out.getBytesIn());
+            bytesOut.inc(out.getBytesOut());
+            ratio.update(out.getBytesIn() > 0 ? out.getBytesOut() * 100 / out.getBytesIn() : 100);
+            time.update(out.getCompressNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+        String contentEncoding = context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if(config.isInflateRequests() && contentEncoding != null && GZIP.equalsIgnoreCase(contentEncoding.trim())
+                && !InputStream.class.equals(context.getType())) {
+            context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+            context.setInputStream(new LimitedInputStream(new GZIPInputStream(context.getInputStream()),
+                    config.getMaxInflatedRequestSize().toBytes()));
+        }
+
+        return context.proceed();
+    }
+
+    /**
+     * @brief Whether an Accept-Encoding header admits gzip, honouring q-values.
+     *
+     * An explicit gzip coding decides on its own; otherwise a * coding does. A coding with q=0 or
+     * an unparsable q-value is not acceptable.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if(acceptEncoding == null) {
+            return false;
+        }
+
+        float gzipQuality = -1;
+        float anyQuality = -1;
+        for(String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            float quality = 1;
+            for(int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if(parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                    try {
+                        quality = Float.parseFloat(parameter.substring(2).trim());
+                    }
+                    catch(NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            if(GZIP.equals(coding)) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            }
+            else if("*".equals(coding)) {
+                anyQuality = Math.max(anyQuality, quality);
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    /**
+     * @brief Buffers output until the threshold is reached, then switches to gzip.
+     */
+    private static final class ThresholdGzipOutputStream extends OutputStream {
+
+        private final OutputStream target;
+
+        private final MultivaluedMap<String, Object> headers;
+
+        private final int threshold;
+
+        private final int level;
+
+        private ByteArrayOutputStream buffer;
+
+        private CountingOutputStream counter;
+
+        private GZIPOutputStream gzip;
+
+        private long bytesIn;
+
+        private long compressNanos;
+
+        private boolean finished;
+
+        ThresholdGzipOutputStream(OutputStream target, MultivaluedMap<String, Object> headers, int threshold, int level) {
+            this.target = target;
+            this.headers = headers;
+            this.threshold = threshold;
+            this.level = level;
+            this.buffer = new ByteArrayOutputStream(Math.min(Math.max(threshold, 32), 8192));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            bytesIn += len;
+            if(gzip == null) {
+                buffer.write(b, off, len);
+                if(buffer.size() < threshold) {
+                    return;
+                }
+                startCompression();
+                return;
+            }
+
+            long start = System.nanoTime();
+            gzip.write(b, off, len);
+            compressNanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Buffered bytes are only released by finish() so that small bodies are never compressed.
+            if(gzip != null) {
+                gzip.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if(finished) {
+                return;
+            }
+            finished = true;
+
+            if(gzip == null) {
+                buffer.writeTo(target);
+                buffer = null;
+            }
+            else {
+                long start = System.nanoTime();
+                gzip.finish();
+                compressNanos += System.nanoTime() - start;
+            }
+            target.flush();
+        }
+
+        boolean isCompressed() {
+            return gzip != null;
+        }
+
+        long getBytesIn() {
+            return bytesIn;
+        }
+
+        long getBytesOut() {
+            return counter != null ? counter.getCount() : 0;
+        }
+
+        long getCompressNanos() {
+            return compressNanos;
+        }
+
+        private void startCompression() throws IOException {
+            // Headers are committed on the first write to the target, so they must be set before.
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+            long start = System.nanoTime();
+            counter = new CountingOutputStream(target);
+            gzip = new GZIPOutputStream(counter, 8192) {
+                {
+                    def.setLevel(level);
+                }
+            };
+            buffer.writeTo(gzip);
+            buffer = null;
+            compressNanos += System.nanoTime() - start;
+        }
+
+    }
+
+    /**
+     * @brief Fails with 413 once more than limit bytes have been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if(n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) {
+            count += n;
+            if(count > limit) {
+                throw new WebApplicationException("Request body exceeds " + limit + " bytes once inflated",
+                        Response.Status.REQUEST_ENTITY_TOO_LARGE);
+            }
+        }
+
+    }
+
+    /**
+     * @brief Counts bytes reaching the wire after compression.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The container owns the underlying stream.
+            flush();
+        }
+
+        long getCount() {
+            return count;
+        }
+
+    }
+
+}
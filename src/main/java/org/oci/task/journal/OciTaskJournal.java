@@ -0,0 +1,383 @@
+package org.oci.task.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+/**
+ * @brief Memory-mapped, segment-rolled, checksummed append-only journal of Task mutations.
+ * @author rajeshkurup@live.com
+ *
+ * Records are addressed by a logical byte offset that grows across segments. Each segment file is
+ * named after the logical offset of its first record and is preallocated and mapped at
+ * segmentSize. A record is [payload length][CRC32 of payload][payload]; a zero length marks the
+ * end of data in a segment. The checkpoint file holds the offset of the first record not yet
+ * applied to the database; segments wholly before it are deleted.
+ */
+public class OciTaskJournal implements Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskJournal.class);
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final boolean syncOnWrite;
+
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<Long, Path>();
+
+    private final Object appendLock = new Object();
+
+    private FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    private long segmentBase;
+
+    private volatile long endOffset;
+
+    private volatile long checkpoint;
+
+    /**
+     * @param directory Directory holding segment and checkpoint files.
+     * @param segmentSize Size of each segment file in bytes.
+     * @param syncOnWrite Whether every append is forced to disk before it is acknowledged.
+     */
+    public OciTaskJournal(Path directory, int segmentSize, boolean syncOnWrite) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * @brief Opens the journal, recovering the write position after the last intact record.
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for(Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        if(Files.exists(checkpointFile)) {
+            checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+        }
+        else {
+            checkpoint = segments.isEmpty() ? 0 : segments.firstKey();
+        }
+        if(!segments.isEmpty() && checkpoint < segments.firstKey()) {
+            // Segments are only deleted once a checkpoint past them is durable, so everything before
+            // the oldest segment was applied even if a later checkpoint write was lost.
+            logger.warn("Journal checkpoint precedes oldest segment, skipping ahead - checkpoint={}, segment={}",
+                    checkpoint, segments.firstKey());
+            checkpoint = segments.firstKey();
+        }
+
+        synchronized(appendLock) {
+            if(segments.isEmpty()) {
+                mapSegment(checkpoint);
+            }
+            else {
+                mapSegment(segments.lastKey());
+                recoverTail();
+            }
+            endOffset = segmentBase + buffer.position();
+        }
+
+        logger.info("Opened Task journal - directory={}, checkpoint={}, end={}", directory, checkpoint, endOffset);
+    }
+
+    /**
+     * @brief Appends an entry.
+     * @return Logical offset just past the appended record.
+     */
+    public long append(OciTaskJournalEntry entry) throws IOException {
+        return appendAll(Collections.singletonList(entry));
+    }
+
+    /**
+     * @brief Appends entries in order with a single force to disk, e.g. a chunk of an import.
+     * @return Logical offset just past the last appended record.
+     */
+    public long appendAll(List<OciTaskJournalEntry> entries) throws IOException {
+        byte[][] payloads = new byte[entries.size()][];
+        int[] checksums = new int[entries.size()];
+        CRC32 crc = new CRC32();
+        for(int i = 0; i < payloads.length; i++) {
+            payloads[i] = entries.get(i).encode();
+            int recordSize = HEADER_SIZE + payloads[i].length;
+            if(recordSize > segmentSize) {
+                throw new IllegalArgumentException("Journal entry of " + recordSize + " bytes exceeds segment size");
+            }
+            crc.reset();
+            crc.update(payloads[i], 0, payloads[i].length);
+            checksums[i] = (int) crc.getValue();
+        }
+
+        synchronized(appendLock) {
+            for(int i = 0; i < payloads.length; i++) {
+                if(buffer.remaining() < HEADER_SIZE + payloads[i].length) {
+                    roll();
+                }
+                buffer.putInt(payloads[i].length);
+                buffer.putInt(checksums[i]);
+                buffer.put(payloads[i]);
+            }
+            if(syncOnWrite) {
+                buffer.force();
+            }
+            // Readers see the entries only once all of them are written.
+            endOffset = segmentBase + buffer.position();
+            return endOffset;
+        }
+    }
+
+    /**
+     * @brief Reads up to maxEntries entries starting at the given logical offset.
+     */
+    public Batch read(long fromOffset, int maxEntries) throws IOException {
+        long end = endOffset;
+        List<OciTaskJournalEntry> entries = new ArrayList<OciTaskJournalEntry>(Math.min(maxEntries, 1024));
+        long[] endOffsets = new long[Math.max(1, Math.min(maxEntries, 1024))];
+        long offset = fromOffset;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        while(entries.size() < maxEntries && offset < end) {
+            Map.Entry<Long, Path> segment = segments.floorEntry(offset);
+            if(segment == null) {
+                throw new IOException("No journal segment holds offset " + offset);
+            }
+
+            long startOffset = offset;
+            try(FileChannel reader = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                while(entries.size() < maxEntries && offset < end) {
+                    long position = offset - segment.getKey();
+                    header.clear();
+                    if(!readFully(reader, header, position)) {
+                        break;
+                    }
+                    int length = header.getInt(0);
+                    if(length <= 0) {
+                        break;
+                    }
+
+                    ByteBuffer payload = ByteBuffer.allocate(length);
+                    if(!readFully(reader, payload, position + HEADER_SIZE)) {
+                        throw new IOException("Truncated journal record at offset " + offset);
+                    }
+                    CRC32 crc = new CRC32();
+                    crc.update(payload.array(), 0, length);
+                    if((int) crc.getValue() != header.getInt(4)) {
+                        throw new IOException("Corrupt journal record at offset " + offset);
+                    }
+
+                    payload.flip();
+                    entries.add(OciTaskJournalEntry.decode(payload));
+                    offset += HEADER_SIZE + length;
+                    if(entries.size() > endOffsets.length) {
+                        endOffsets = Arrays.copyOf(endOffsets, endOffsets.length << 1);
+                    }
+                    endOffsets[entries.size() - 1] = offset;
+                }
+            }
+
+            if(offset == startOffset) {
+                // Nothing more in the segment holding this offset; a rolled segment would start exactly here.
+                break;
+            }
+        }
+
+        return new Batch(entries, Arrays.copyOf(endOffsets, entries.size()));
+    }
+
+    /**
+     * @brief Records that every entry before the given offset has been applied and drops obsolete segments.
+     */
+    public void checkpoint(long offset) throws IOException {
+        writeDurably(CHECKPOINT_FILE, offset);
+        checkpoint = offset;
+
+        for(Long base : new ArrayList<Long>(segments.keySet())) {
+            Long next = segments.higherKey(base);
+            if(next == null || next > offset) {
+                break;
+            }
+            Files.deleteIfExists(segments.remove(base));
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @brief Bytes appended but not yet checkpointed.
+     */
+    public long getBacklog() {
+        return endOffset - checkpoint;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized(appendLock) {
+            if(channel != null) {
+                buffer.force();
+                channel.close();
+                channel = null;
+                buffer = null;
+            }
+        }
+    }
+
+    /**
+     * @brief Atomically replaces a file in the journal directory with a single long, surviving power loss.
+     */
+    private void writeDurably(String fileName, long value) throws IOException {
+        Path file = directory.resolve(fileName);
+        Path tmpFile = directory.resolve(fileName + ".tmp");
+        try(FileChannel tmp = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = ByteBuffer.allocate(8).putLong(value);
+            data.flip();
+            while(data.hasRemaining()) {
+                tmp.write(data);
+            }
+            tmp.force(true);
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    /**
+     * @brief Makes renames and deletions in the journal directory durable.
+     */
+    private void syncDirectory() throws IOException {
+        try(FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        catch(IOException ex) {
+            // Some platforms cannot open a directory; renames there are durable or cannot be made so.
+            logger.debug("Cannot sync journal directory - directory={}", directory, ex);
+        }
+    }
+
+    private void roll() throws IOException {
+        long nextBase = segmentBase + buffer.position();
+        buffer.force();
+        channel.close();
+        mapSegment(nextBase);
+    }
+
+    private void mapSegment(long base) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentBase = base;
+        segments.put(base, file);
+    }
+
+    /**
+     * @brief Positions the active segment after its last intact record and zeroes whatever follows.
+     */
+    private void recoverTail() {
+        int position = 0;
+        while(position + HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if(length <= 0 || position + HEADER_SIZE + length > buffer.limit()) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + HEADER_SIZE);
+            view.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, length);
+            if((int) crc.getValue() != buffer.getInt(position + 4)) {
+                logger.warn("Discarding torn journal record - offset={}", segmentBase + position);
+                break;
+            }
+            position += HEADER_SIZE + length;
+        }
+
+        for(int i = position; i < buffer.limit(); i++) {
+            if(buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(position);
+    }
+
+    private static boolean readFully(FileChannel reader, ByteBuffer target, long position) throws IOException {
+        long current = position;
+        while(target.hasRemaining()) {
+            int read = reader.read(target, current);
+            if(read < 0) {
+                return false;
+            }
+            current += read;
+        }
+        return true;
+    }
+
+    /**
+     * @brief Entries read from the journal with the logical offset just past each of them.
+     */
+    public static final class Batch {
+
+        private final List<OciTaskJournalEntry> entries;
+
+        private final long[] endOffsets;
+
+        Batch(List<OciTaskJournalEntry> entries, long[] endOffsets) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.endOffsets = endOffsets;
+        }
+
+        public List<OciTaskJournalEntry> getEntries() {
+            return entries;
+        }
+
+        public long getEndOffset(int index) {
+            return endOffsets[index];
+        }
+
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+    }
+
+}
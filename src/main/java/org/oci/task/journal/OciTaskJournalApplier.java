@@ -0,0 +1,96 @@
+package org.oci.task.journal;
+
+import io.dropwizard.hibernate.UnitOfWork;
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * @brief Applies journaled Task mutations to the database, one transaction per batch.
+ * @author rajeshkurup@live.com
+ *
+ * Must be instantiated through UnitOfWorkAwareProxyFactory for the Hibernate session to be bound.
+ */
+public class OciTaskJournalApplier {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskJournalApplier.class);
+
+    private final OciTaskStore ociTaskStore;
+
+    public OciTaskJournalApplier(OciTaskStore ociTaskStore) {
+        this.ociTaskStore = ociTaskStore;
+    }
+
+    /**
+     * @brief Applies entries in order. Every entry may be applied again after a crash, with the same result.
+     *
+     * A create whose id is taken by a different Task is not applied. It is logged with its content, so
+     * the acknowledged Task can be recovered, and counted in the result.
+     * @return Number of creates that conflicted with a different Task.
+     */
+    @UnitOfWork
+    public int apply(List<OciTaskJournalEntry> entries) {
+        int conflicts = 0;
+        for(OciTaskJournalEntry entry : entries) {
+            if(entry.getOperation() == OciTaskJournalEntry.Operation.DELETE) {
+                ociTaskStore.delete(entry.getTaskId());
+            }
+            else if(entry.getOperation() == OciTaskJournalEntry.Operation.CREATE && entry.getTaskId() != 0) {
+                OciTask created = entry.toTask();
+                if(!ociTaskStore.createWithId(created) && !isReplayOf(created)) {
+                    conflicts++;
+                    logger.error("Journaled create conflicts with a different Task, not applied - taskId={}, "
+                                    + "priority={}, title={}, description={}, completed={}, startDate={}, dueDate={}",
+                            created.getId(), created.getPriority(), created.getTitle(), created.getDescription(),
+                            created.isCompleted(), created.getStartDate(), created.getDueDate());
+                }
+            }
+            else {
+                // Creates journaled before ids were assigned up front carry id zero.
+                ociTaskStore.save(entry.toTask());
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * @brief Leases ids for created Tasks in a transaction of its own.
+     * @return First of count consecutive ids.
+     */
+    @UnitOfWork
+    public long leaseIds(int count) {
+        return ociTaskStore.leaseIds(count);
+    }
+
+    /**
+     * @brief Whether the stored Task with the id of a create is that create, applied before a crash.
+     *
+     * Batches end at a repeated id, so a create is checkpointed before any later mutation of its Task is
+     * applied, and a replayed create finds the Task as it created it.
+     */
+    private boolean isReplayOf(OciTask created) {
+        Optional<OciTask> stored = ociTaskStore.findById(created.getId());
+        return stored.isPresent()
+                && stored.get().getPriority() == created.getPriority()
+                && Objects.equals(stored.get().getTitle(), created.getTitle())
+                && Objects.equals(stored.get().getDescription(), created.getDescription())
+                && Boolean.TRUE.equals(stored.get().isCompleted()) == Boolean.TRUE.equals(created.isCompleted())
+                && sameInstant(stored.get().getStartDate(), created.getStartDate())
+                && sameInstant(stored.get().getDueDate(), created.getDueDate());
+    }
+
+    private static boolean sameInstant(Date stored, Date journaled) {
+        if(stored == null || journaled == null) {
+            return stored == journaled;
+        }
+        // TIMESTAMP columns keep whole seconds, rounding the journaled milliseconds.
+        return Math.abs(stored.getTime() - journaled.getTime()) < 1000;
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.oci.task.journal;
+
+import org.oci.task.core.OciTask;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * @brief Task mutation recorded in the {@link OciTaskJournal}.
+ * @author rajeshkurup@live.com
+ */
+public final class OciTaskJournalEntry {
+
+    public enum Operation {
+        CREATE((byte) 1),
+        UPDATE((byte) 2),
+        DELETE((byte) 3);
+
+        private final byte code;
+
+        Operation(byte code) {
+            this.code = code;
+        }
+
+        static Operation fromCode(byte code) {
+            for(Operation operation : values()) {
+                if(operation.code == code) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journal operation " + code);
+        }
+    }
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private final Operation operation;
+
+    private final long taskId;
+
+    private final int priority;
+
+    private final String title;
+
+    private final String description;
+
+    private final boolean completed;
+
+    private final long startDate;
+
+    private final long dueDate;
+
+    private OciTaskJournalEntry(Operation operation, long taskId, int priority, String title, String description,
+                                boolean completed, long startDate, long dueDate) {
+        this.operation = operation;
+        this.taskId = taskId;
+        this.priority = priority;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.startDate = startDate;
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * @brief Records a create of a Task whose id was already assigned by {@link OciTaskJournalStore}.
+     */
+    public static OciTaskJournalEntry create(OciTask task) {
+        if(task.getId() == 0) {
+            throw new IllegalArgumentException("Created Task must have an id");
+        }
+        return of(Operation.CREATE, task);
+    }
+
+    public static OciTaskJournalEntry update(OciTask task) {
+        return of(Operation.UPDATE, task);
+    }
+
+    public static OciTaskJournalEntry delete(long taskId) {
+        return new OciTaskJournalEntry(Operation.DELETE, taskId, 0, null, null, false, NULL_DATE, NULL_DATE);
+    }
+
+    private static OciTaskJournalEntry of(Operation operation, OciTask task) {
+        return new OciTaskJournalEntry(operation, task.getId(), task.getPriority(), task.getTitle(),
+                task.getDescription(), Boolean.TRUE.equals(task.isCompleted()), toMillis(task.getStartDate()),
+                toMillis(task.getDueDate()));
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * @brief Rebuilds the Task entity to be saved for a create or update.
+     */
+    public OciTask toTask() {
+        OciTask task = new OciTask();
+        task.setId(taskId);
+        task.setPriority(priority);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setCompleted(completed);
+        task.setStartDate(toDate(startDate));
+        task.setDueDate(toDate(dueDate));
+        return task;
+    }
+
+    byte[] encode() {
+        byte[] titleBytes = toBytes(title);
+        byte[] descriptionBytes = toBytes(description);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 4 + 4 + length(titleBytes) + 4 + length(descriptionBytes) + 1 + 8 + 8);
+        buffer.put(operation.code);
+        buffer.putLong(taskId);
+        buffer.putInt(priority);
+        putBytes(buffer, titleBytes);
+        putBytes(buffer, descriptionBytes);
+        buffer.put(completed ? (byte) 1 : (byte) 0);
+        buffer.putLong(startDate);
+        buffer.putLong(dueDate);
+        return buffer.array();
+    }
+
+    static OciTaskJournalEntry decode(ByteBuffer buffer) {
+        Operation operation = Operation.fromCode(buffer.get());
+        long taskId = buffer.getLong();
+        int priority = buffer.getInt();
+        String title = getString(buffer);
+        String description = getString(buffer);
+        boolean completed = buffer.get() != 0;
+        long startDate = buffer.getLong();
+        long dueDate = buffer.getLong();
+        return new OciTaskJournalEntry(operation, taskId, priority, title, description, completed, startDate, dueDate);
+    }
+
+    private static byte[] toBytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if(bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if(length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : NULL_DATE;
+    }
+
+    private static Date toDate(long millis) {
+        return millis != NULL_DATE ? new Date(millis) : null;
+    }
+
+}
@@ -0,0 +1,182 @@
+package org.oci.task.journal;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import org.hibernate.StaleStateException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.OptimisticLockException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Drains the {@link OciTaskJournal} into the database in batches.
+ * @author rajeshkurup@live.com
+ *
+ * Starts from the journal checkpoint, so entries not applied before a restart are replayed. When the
+ * database is unavailable the batch is retried on the next poll. An entry the database rejects for good
+ * (e.g. an update of a Task deleted meanwhile) is logged and skipped so it cannot block the journal.
+ * Delivery is at-least-once: a crash between commit and checkpoint replays the last batch. Replaying is
+ * harmless since creates carry the id assigned when they were journaled and are skipped when it exists.
+ * A create whose id holds a different Task is logged and counted as a conflict.
+ */
+public class OciTaskJournalReplayer implements Managed {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskJournalReplayer.class);
+
+    private final OciTaskJournal journal;
+
+    private final OciTaskJournalApplier applier;
+
+    private final int batchSize;
+
+    private final long pollIntervalMillis;
+
+    private final Meter applied;
+
+    private final Counter discarded;
+
+    private final Counter conflicts;
+
+    private ScheduledExecutorService executor;
+
+    public OciTaskJournalReplayer(OciTaskJournal journal, OciTaskJournalApplier applier, int batchSize,
+                                  long pollIntervalMillis, MetricRegistry metrics) {
+        this.journal = journal;
+        this.applier = applier;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.applied = metrics.meter(MetricRegistry.name(OciTaskJournalReplayer.class, "applied"));
+        this.discarded = metrics.counter(MetricRegistry.name(OciTaskJournalReplayer.class, "discarded"));
+        this.conflicts = metrics.counter(MetricRegistry.name(OciTaskJournalReplayer.class, "conflicts"));
+        metrics.register(MetricRegistry.name(OciTaskJournalReplayer.class, "backlog-bytes"),
+                (Gauge<Long>) journal::getBacklog);
+    }
+
+    @Override
+    public void start() throws Exception {
+        journal.open();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oci-task-journal-replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drainAll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        drainAll();
+        journal.close();
+    }
+
+    /**
+     * @brief Applies journal entries until the journal is drained or the database fails.
+     */
+    void drainAll() {
+        try {
+            while(drain() > 0) {
+                // Keep going while there is backlog.
+            }
+        }
+        catch(Exception ex) {
+            logger.warn("Journal replay paused, will retry - backlogBytes={}", journal.getBacklog(), ex);
+        }
+    }
+
+    /**
+     * @return Number of entries consumed from the journal.
+     */
+    int drain() throws IOException {
+        OciTaskJournal.Batch batch = journal.read(journal.getCheckpoint(), batchSize);
+        if(batch.isEmpty()) {
+            return 0;
+        }
+
+        int count = conflictFreePrefix(batch.getEntries());
+        try {
+            conflicts.inc(applier.apply(batch.getEntries().subList(0, count)));
+        }
+        catch(RuntimeException ex) {
+            if(!isPermanent(ex)) {
+                throw ex;
+            }
+            return applyIndividually(batch, count);
+        }
+
+        journal.checkpoint(batch.getEndOffset(count - 1));
+        applied.mark(count);
+        return count;
+    }
+
+    private int applyIndividually(OciTaskJournal.Batch batch, int count) throws IOException {
+        for(int i = 0; i < count; i++) {
+            OciTaskJournalEntry entry = batch.getEntries().get(i);
+            try {
+                conflicts.inc(applier.apply(Collections.singletonList(entry)));
+                applied.mark();
+            }
+            catch(RuntimeException ex) {
+                if(!isPermanent(ex)) {
+                    throw ex;
+                }
+                discarded.inc();
+                logger.error("Discarding journal entry rejected by database - operation={}, taskId={}",
+                        entry.getOperation(), entry.getTaskId(), ex);
+            }
+            journal.checkpoint(batch.getEndOffset(i));
+        }
+        return count;
+    }
+
+    /**
+     * @brief Length of the leading run of entries touching distinct Tasks.
+     *
+     * Hibernate cannot hold two instances of the same Task in one session, so a batch stops at the
+     * first repeated id and the rest goes into the next batch.
+     */
+    private static int conflictFreePrefix(List<OciTaskJournalEntry> entries) {
+        Set<Long> taskIds = new HashSet<Long>();
+        for(int i = 0; i < entries.size(); i++) {
+            long taskId = entries.get(i).getTaskId();
+            if(taskId != 0 && !taskIds.add(taskId)) {
+                return i;
+            }
+        }
+        return entries.size();
+    }
+
+    private static boolean isPermanent(Throwable ex) {
+        Throwable cause = ex;
+        for(int depth = 0; cause != null && depth < 16; depth++) {
+            if(cause instanceof NoSuchElementException
+                    || cause instanceof IllegalArgumentException
+                    || cause instanceof EntityNotFoundException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException
+                    || cause instanceof ConstraintViolationException
+                    || cause instanceof DataException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.oci.task.journal;
+
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * @brief Write side of Task storage that acknowledges mutations once they are in the {@link OciTaskJournal}.
+ * @author rajeshkurup@live.com
+ *
+ * Mutations reach the database later through {@link OciTaskJournalReplayer}. Created Tasks get their id
+ * before they are appended, so save() returns the id the Task will have in the database. Ids come from
+ * blocks leased from the database, which no other instance hands out, so instances sharing a database
+ * never assign one id twice. A new block is leased once the current one is used up, so creates need the
+ * database once per block. Ids left in a block when the service stops are not reused. saveAll() appends
+ * a whole chunk with one sync to disk. Reads are served by the underlying storage.
+ */
+public class OciTaskJournalStore implements OciTaskWriter {
+
+    private final OciTaskJournal journal;
+
+    private final IntToLongFunction idLease;
+
+    private final int idBlockSize;
+
+    private final Object idLock = new Object();
+
+    private long nextId;
+
+    private long idBlockEnd;
+
+    /**
+     * @param idLease Leases the given number of consecutive ids and returns the first of them.
+     * @param idBlockSize Ids leased at a time.
+     */
+    public OciTaskJournalStore(OciTaskJournal journal, IntToLongFunction idLease, int idBlockSize) {
+        this.journal = journal;
+        this.idLease = idLease;
+        this.idBlockSize = idBlockSize;
+    }
+
+    @Override
+    public boolean isDeferred() {
+        return true;
+    }
+
+    @Override
+    public OciTask save(OciTask ociTask) {
+        if(ociTask.getId() != 0) {
+            append(OciTaskJournalEntry.update(ociTask));
+            return ociTask;
+        }
+
+        ociTask.setId(nextId());
+        append(OciTaskJournalEntry.create(ociTask));
+        return ociTask;
+    }
+
+    @Override
+    public void saveAll(List<OciTask> ociTasks) {
+        List<OciTaskJournalEntry> entries = new ArrayList<OciTaskJournalEntry>(ociTasks.size());
+        for(OciTask ociTask : ociTasks) {
+            ociTask.setId(nextId());
+            entries.add(OciTaskJournalEntry.create(ociTask));
+        }
+        try {
+            journal.appendAll(entries);
+        }
+        catch(IOException ex) {
+            throw new UncheckedIOException("Failed to append to Task journal", ex);
+        }
+    }
+
+    @Override
+    public void delete(long id) {
+        append(OciTaskJournalEntry.delete(id));
+    }
+
+    private long nextId() {
+        synchronized(idLock) {
+            if(nextId >= idBlockEnd) {
+                nextId = idLease.applyAsLong(idBlockSize);
+                idBlockEnd = nextId + idBlockSize;
+            }
+            return nextId++;
+        }
+    }
+
+    private void append(OciTaskJournalEntry entry) {
+        try {
+            journal.append(entry);
+        }
+        catch(IOException ex) {
+            throw new UncheckedIOException("Failed to append to Task journal", ex);
+        }
+    }
+
+}
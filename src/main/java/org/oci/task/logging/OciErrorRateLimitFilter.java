@@ -0,0 +1,93 @@
+package org.oci.task.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @brief Logback turbo filter that rate limits repeated WARN/ERROR events.
+ * @author rajeshkurup@live.com
+ *
+ * Events are keyed by logger, message template and exception type. At most maxRepeats events per
+ * key are let through in each window; the rest are dropped before any formatting happens.
+ */
+public class OciErrorRateLimitFilter extends TurboFilter {
+
+    private static final int MAX_KEYS = 1024;
+
+    private final int maxRepeats;
+
+    private final long windowMillis;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<String, Window>();
+
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public OciErrorRateLimitFilter(int maxRepeats, long windowMillis) {
+        this.maxRepeats = maxRepeats;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if(level == null || !level.isGreaterOrEqual(Level.WARN) || format == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if(windows.size() > MAX_KEYS) {
+            windows.clear();
+        }
+
+        String key = logger.getName() + '|' + format + '|' + (t != null ? t.getClass().getName() : "");
+        Window window = windows.get(key);
+        if(window == null) {
+            Window created = new Window(System.currentTimeMillis());
+            window = windows.putIfAbsent(key, created);
+            if(window == null) {
+                window = created;
+            }
+        }
+
+        if(window.tryAcquire(System.currentTimeMillis(), windowMillis, maxRepeats)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * @brief Number of events dropped since start.
+     */
+    public long getSuppressedCount() {
+        return suppressed.get();
+    }
+
+    private static final class Window {
+
+        private final AtomicLong start;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+
+        boolean tryAcquire(long now, long windowMillis, int maxRepeats) {
+            long windowStart = start.get();
+            if(now - windowStart >= windowMillis && start.compareAndSet(windowStart, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= maxRepeats;
+        }
+
+    }
+
+}
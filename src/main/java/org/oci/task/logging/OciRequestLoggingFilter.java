@@ -0,0 +1,65 @@
+package org.oci.task.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Populates MDC fields for every API call and logs one structured completion event.
+ * @author rajeshkurup@live.com
+ *
+ * MDC keys: endpoint (resource method), taskId (when the path has an id) and latencyMs.
+ */
+@Priority(Priorities.USER)
+public class OciRequestLoggingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String MDC_ENDPOINT = "endpoint";
+
+    public static final String MDC_TASK_ID = "taskId";
+
+    public static final String MDC_LATENCY = "latencyMs";
+
+    private static final String START_PROPERTY = OciRequestLoggingFilter.class.getName() + ".start";
+
+    private static Logger logger = LoggerFactory.getLogger(OciRequestLoggingFilter.class);
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        MDC.clear();
+        requestContext.setProperty(START_PROPERTY, System.nanoTime());
+
+        if(resourceInfo != null && resourceInfo.getResourceMethod() != null) {
+            MDC.put(MDC_ENDPOINT, resourceInfo.getResourceMethod().getName());
+        }
+
+        String taskId = requestContext.getUriInfo().getPathParameters().getFirst("id");
+        if(taskId != null) {
+            MDC.put(MDC_TASK_ID, taskId);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object start = requestContext.getProperty(START_PROPERTY);
+        if(start instanceof Long) {
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (Long) start);
+            MDC.put(MDC_LATENCY, String.valueOf(latencyMs));
+            logger.info("Request completed - status={}", responseContext.getStatus());
+        }
+        MDC.clear();
+    }
+
+}
@@ -0,0 +1,292 @@
+package org.oci.task.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.commons.lang3.StringUtils;
+import org.oci.task.api.OciTaskImportProgress;
+import org.oci.task.api.OciTaskServRequest;
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskWriter;
+import org.oci.task.error.OciError;
+import org.oci.task.error.OciErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @brief Streams an NDJSON body of Task requests into storage and writes progress back as NDJSON.
+ * @author rajeshkurup@live.com
+ *
+ * Lines are parsed one at a time and validated like createTask. Every chunkSize lines the valid Tasks
+ * are stored in one call to {@link OciTaskWriter#saveAll(List)} and a progress line is flushed, so memory
+ * is bounded by the chunk size whatever the body size. Lines longer than maxLineLength are rejected
+ * without being buffered. A gzip body is detected by its magic bytes. The import stops at the first
+ * chunk that cannot be stored; earlier chunks stay committed.
+ */
+public class OciTaskImporter implements StreamingOutput {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskImporter.class);
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream input;
+
+    private final OciTaskWriter ociTaskWriter;
+
+    private final ObjectReader requestReader;
+
+    private final ObjectWriter progressWriter;
+
+    private final int chunkSize;
+
+    private final int maxLineLength;
+
+    /**
+     * @param objectMapper Mapper of the environment, so imports parse dates like the JSON APIs.
+     */
+    public OciTaskImporter(InputStream input, OciTaskWriter ociTaskWriter, ObjectMapper objectMapper,
+                           int chunkSize, int maxLineLength) {
+        this.input = input;
+        this.ociTaskWriter = ociTaskWriter;
+        this.requestReader = objectMapper.readerFor(OciTaskServRequest.class);
+        this.progressWriter = objectMapper.writerFor(OciTaskImportProgress.class);
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        List<OciTask> tasks = new ArrayList<OciTask>(chunkSize);
+        OciTaskImportProgress progress = newChunk(1, 1, 0, 0);
+        int chunkLines = 0;
+        long lineNumber = 0;
+
+        try(LineReader reader = new LineReader(new InputStreamReader(decode(input), StandardCharsets.UTF_8), maxLineLength)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                lineNumber++;
+                if(reader.isTooLong()) {
+                    reject(progress, lineNumber, "Line exceeds " + maxLineLength + " characters!");
+                }
+                else if(StringUtils.isBlank(line)) {
+                    continue;
+                }
+                else {
+                    parse(line, lineNumber, tasks, progress);
+                }
+                if(++chunkLines == chunkSize) {
+                    if(!store(tasks, progress, lineNumber, output)) {
+                        return;
+                    }
+                    progress = newChunk(progress.getChunk() + 1, lineNumber + 1,
+                            progress.getTotalImported(), progress.getTotalFailed());
+                    tasks.clear();
+                    chunkLines = 0;
+                }
+            }
+        }
+        catch(IOException ex) {
+            logger.error("Failed to read Task import - line={}", lineNumber + 1, ex);
+            progress.setLastLine(lineNumber);
+            progress.getErrors().add(new OciTaskImportProgress.LineError(lineNumber + 1,
+                    new OciError(OciErrorCode.INVALID_ARGUMENT, ex.getMessage())));
+            progress.setAborted(true);
+            writeProgress(progress, output);
+            return;
+        }
+
+        if(!store(tasks, progress, lineNumber, output)) {
+            return;
+        }
+        logger.info("Imported Tasks - imported={}, failed={}, lines={}",
+                progress.getTotalImported(), progress.getTotalFailed(), lineNumber);
+        OciTaskImportProgress summary = newChunk(progress.getChunk(), lineNumber + 1,
+                progress.getTotalImported(), progress.getTotalFailed());
+        summary.setLastLine(lineNumber);
+        summary.setDone(true);
+        writeProgress(summary, output);
+    }
+
+    private void parse(String line, long lineNumber, List<OciTask> tasks, OciTaskImportProgress progress) {
+        try {
+            OciTaskServRequest request = requestReader.readValue(line);
+            if(request == null || StringUtils.isBlank(request.getTitle())) {
+                reject(progress, lineNumber, "Task Title cannot be blank!");
+                return;
+            }
+
+            OciTask task = new OciTask();
+            task.setTitle(request.getTitle());
+            task.setCompleted(request.isCompleted());
+            task.setDescription(request.getDescription());
+            task.setPriority(request.getPriority());
+            task.setDueDate(request.getDueDate());
+            task.setStartDate(request.getStartDate());
+            tasks.add(task);
+        }
+        catch(JsonProcessingException ex) {
+            reject(progress, lineNumber, ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * @brief Stores the chunk and reports it.
+     * @return Whether the import may continue.
+     */
+    private boolean store(List<OciTask> tasks, OciTaskImportProgress progress, long lastLine,
+                          OutputStream output) throws IOException {
+        progress.setLastLine(lastLine);
+        if(!tasks.isEmpty()) {
+            try {
+                ociTaskWriter.saveAll(tasks);
+            }
+            catch(Exception ex) {
+                logger.error("Failed to store Task import chunk - firstLine={}, lastLine={}",
+                        progress.getFirstLine(), lastLine, ex);
+                progress.getErrors().add(new OciTaskImportProgress.LineError(progress.getFirstLine(),
+                        new OciError(OciErrorCode.DATABASE_ERROR, ex.getMessage())));
+                progress.setAborted(true);
+                writeProgress(progress, output);
+                return false;
+            }
+        }
+
+        progress.setImported(tasks.size());
+        progress.setTotalImported(progress.getTotalImported() + tasks.size());
+        if(tasks.size() > 0 || progress.getFailed() > 0) {
+            writeProgress(progress, output);
+        }
+        return true;
+    }
+
+    private static void reject(OciTaskImportProgress progress, long lineNumber, String message) {
+        progress.getErrors().add(new OciTaskImportProgress.LineError(lineNumber,
+                new OciError(OciErrorCode.INVALID_ARGUMENT, message)));
+        progress.setFailed(progress.getFailed() + 1);
+        progress.setTotalFailed(progress.getTotalFailed() + 1);
+    }
+
+    private static OciTaskImportProgress newChunk(int chunk, long firstLine, long totalImported, long totalFailed) {
+        OciTaskImportProgress progress = new OciTaskImportProgress();
+        progress.setChunk(chunk);
+        progress.setFirstLine(firstLine);
+        progress.setTotalImported(totalImported);
+        progress.setTotalFailed(totalFailed);
+        return progress;
+    }
+
+    private void writeProgress(OciTaskImportProgress progress, OutputStream output) throws IOException {
+        output.write(progressWriter.writeValueAsBytes(progress));
+        output.write('\n');
+        output.flush();
+    }
+
+    private static InputStream decode(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+        buffered.mark(2);
+        int magic = buffered.read() | (buffered.read() << 8);
+        buffered.reset();
+        return magic == GZIP_MAGIC ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+
+    /**
+     * @brief Splits input into lines, keeping at most maxLength characters of a line in memory.
+     */
+    private static final class LineReader implements Closeable {
+
+        private final Reader in;
+
+        private final int maxLength;
+
+        private final char[] buffer = new char[BUFFER_SIZE];
+
+        private final StringBuilder line = new StringBuilder();
+
+        private int position;
+
+        private int limit;
+
+        private boolean tooLong;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return The next line without its terminator, or null at the end of input.
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while(true) {
+                if(position == limit) {
+                    limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+                    position = 0;
+                    if(limit == 0) {
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+
+                int start = position;
+                while(position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                // One extra character leaves room for the carriage return of a CRLF terminator.
+                int room = maxLength + 1 - line.length();
+                int length = position - start;
+                if(length > room) {
+                    tooLong = true;
+                }
+                if(room > 0) {
+                    line.append(buffer, start, Math.min(length, room));
+                }
+                if(position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        /**
+         * @brief Whether the last line read exceeded maxLength and was cut short.
+         */
+        boolean isTooLong() {
+            return tooLong;
+        }
+
+        private String finish() {
+            int length = line.length();
+            if(length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            tooLong |= length > maxLength;
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+    }
+
+}
@@ -1,13 +1,23 @@
 package org.oci.task.resources;
 
-import io.dropwizard.hibernate.UnitOfWork;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
 import org.apache.commons.lang3.StringUtils;
+import org.oci.task.api.OciMediaType;
+import org.oci.task.api.OciTaskBatchGetRequest;
+import org.oci.task.api.OciTaskBatchResult;
+import org.oci.task.api.OciTaskInfo;
 import org.oci.task.api.OciTaskServRequest;
 import org.oci.task.api.OciTaskServResponse;
+import org.oci.task.concurrent.OciSingleFlightTimeoutException;
+import org.oci.task.config.OciBulkConfiguration;
 import org.oci.task.core.OciTask;
-import org.oci.task.db.OciTaskDao;
+import org.oci.task.db.OciTaskReader;
+import org.oci.task.db.OciTaskStore;
+import org.oci.task.db.OciTaskWriter;
 import org.oci.task.error.OciError;
 import org.oci.task.error.OciErrorCode;
+import org.oci.task.stats.OciTaskStatsTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,7 +25,12 @@ import javax.annotation.security.PermitAll;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -28,10 +43,51 @@ public class OciTaskResource {
 
     private static Logger logger = LoggerFactory.getLogger(OciTaskResource.class);
 
-    private final OciTaskDao ociTaskDao;
+    private final OciTaskReader ociTaskStore;
 
-    public OciTaskResource(OciTaskDao ociTaskDao) {
-        this.ociTaskDao = ociTaskDao;
+    private final OciTaskWriter ociTaskWriter;
+
+    private final OciTaskStatsTracker ociTaskStats;
+
+    private final OciBulkConfiguration bulkConfig;
+
+    private final ObjectMapper objectMapper;
+
+    public OciTaskResource(OciTaskStore ociTaskStore) {
+        this(ociTaskStore, ociTaskStore);
+    }
+
+    public OciTaskResource(OciTaskReader ociTaskStore, OciTaskWriter ociTaskWriter) {
+        this(ociTaskStore, ociTaskWriter, new OciTaskStatsTracker());
+    }
+
+    public OciTaskResource(OciTaskReader ociTaskStore, OciTaskWriter ociTaskWriter, OciTaskStatsTracker ociTaskStats) {
+        this(ociTaskStore, ociTaskWriter, ociTaskStats, new OciBulkConfiguration());
+    }
+
+    /**
+     * @param ociTaskStore Storage serving reads. It manages its own unit of work, so that concurrent
+     *                     identical reads can share one database load.
+     * @param ociTaskWriter Storage receiving mutations. It manages its own unit of work, so that
+     *                      write APIs do not hold a database connection when writes are journaled.
+     * @param ociTaskStats Counters serving the statistics API, fed by ociTaskWriter.
+     * @param bulkConfig Limits of the bulk APIs.
+     */
+    public OciTaskResource(OciTaskReader ociTaskStore, OciTaskWriter ociTaskWriter, OciTaskStatsTracker ociTaskStats,
+                           OciBulkConfiguration bulkConfig) {
+        this(ociTaskStore, ociTaskWriter, ociTaskStats, bulkConfig, Jackson.newObjectMapper());
+    }
+
+    /**
+     * @param objectMapper Mapper of the environment, used by the NDJSON APIs that bypass Jersey.
+     */
+    public OciTaskResource(OciTaskReader ociTaskStore, OciTaskWriter ociTaskWriter, OciTaskStatsTracker ociTaskStats,
+                           OciBulkConfiguration bulkConfig, ObjectMapper objectMapper) {
+        this.ociTaskStore = ociTaskStore;
+        this.ociTaskWriter = ociTaskWriter;
+        this.ociTaskStats = ociTaskStats;
+        this.bulkConfig = bulkConfig;
+        this.objectMapper = objectMapper;
     }
 
     @OPTIONS
@@ -47,6 +103,20 @@ public class OciTaskResource {
         return prepareResponse(Response.Status.NO_CONTENT, "");
     }
 
+    @OPTIONS
+    @Path("/tasks:batchGet")
+    @PermitAll
+    public Response optionsBatchGet() {
+        return prepareResponse(Response.Status.NO_CONTENT, "");
+    }
+
+    @OPTIONS
+    @Path("/tasks:import")
+    @PermitAll
+    public Response optionsImport() {
+        return prepareResponse(Response.Status.NO_CONTENT, "");
+    }
+
     @OPTIONS
     @Path("/tasks/{id}")
     @PermitAll
@@ -55,12 +125,11 @@ public class OciTaskResource {
     }
 
     @POST
-    @UnitOfWork
-    @Produces(MediaType.APPLICATION_JSON)
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
+    @Consumes({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
     @Path("/tasks")
     public Response createTask(OciTaskServRequest ociTask) {
-        logger.info("Creating new Task");
+        logger.debug("Creating new Task");
         OciTaskServResponse ociResponse = new OciTaskServResponse();
         Response.Status httpStatus = Response.Status.OK;
 
@@ -74,14 +143,14 @@ public class OciTaskResource {
             srcTask.setStartDate(ociTask.getStartDate());
 
             try {
-                OciTask task = ociTaskDao.save(srcTask);
+                OciTask task = ociTaskWriter.save(srcTask);
                 ociResponse.setTaskId(task.getId());
-                httpStatus = Response.Status.CREATED;
+                httpStatus = ociTaskWriter.isDeferred() ? Response.Status.ACCEPTED : Response.Status.CREATED;
             }
             catch(Exception ex) {
                 httpStatus = Response.Status.INTERNAL_SERVER_ERROR;
                 ociResponse.setError(new OciError(OciErrorCode.INTERNAL_ERROR, ex.getMessage()));
-                logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+                logger.error("Failed to create Task", ex);
             }
         }
         else {
@@ -93,13 +162,23 @@ public class OciTaskResource {
         return prepareResponse(httpStatus, ociResponse);
     }
 
+    @POST
+    @Produces(OciMediaType.APPLICATION_NDJSON)
+    @Consumes({OciMediaType.APPLICATION_NDJSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Path("/tasks:import")
+    public Response importTasks(InputStream body) {
+        logger.info("Importing Tasks - chunkSize={}", bulkConfig.getImportChunkSize());
+        return prepareResponse(Response.Status.OK,
+                new OciTaskImporter(body, ociTaskWriter, objectMapper, bulkConfig.getImportChunkSize(),
+                        bulkConfig.getMaxImportLineLength()));
+    }
+
     @PUT
-    @UnitOfWork
-    @Produces(MediaType.APPLICATION_JSON)
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
+    @Consumes({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
     @Path("/tasks/{id}")
     public Response updateTask(@PathParam("id") long id, OciTaskServRequest ociTask) {
-        logger.info("Updating existing Task - taskId=" + id);
+        logger.debug("Updating existing Task - taskId={}", id);
         OciTaskServResponse ociResponse = new OciTaskServResponse();
         Response.Status httpStatus = Response.Status.OK;
 
@@ -113,18 +192,19 @@ public class OciTaskResource {
             srcTask.setStartDate(ociTask.getStartDate());
             srcTask.setId(id);
             try {
-                OciTask task = ociTaskDao.save(srcTask);
+                OciTask task = ociTaskWriter.save(srcTask);
                 ociResponse.setTaskId(task.getId());
+                httpStatus = ociTaskWriter.isDeferred() ? Response.Status.ACCEPTED : Response.Status.OK;
             }
             catch(NoSuchElementException ex) {
                 httpStatus = Response.Status.BAD_REQUEST;
                 ociResponse.setError(new OciError(OciErrorCode.INVALID_ARGUMENT, ex.getMessage()));
-                logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+                logger.error("Task not found for update - taskId={}", id, ex);
             }
             catch(Exception ex) {
                 httpStatus = Response.Status.INTERNAL_SERVER_ERROR;
                 ociResponse.setError(new OciError(OciErrorCode.INTERNAL_ERROR, ex.getMessage()));
-                logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+                logger.error("Failed to update Task - taskId={}", id, ex);
             }
         }
         else {
@@ -137,47 +217,110 @@ public class OciTaskResource {
     }
 
     @GET
-    @UnitOfWork
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
     @Path("/tasks")
-    public Response listTasks() {
-        logger.info("Load Tasks");
+    public Response listTasks(@QueryParam("ids") String ids,
+                              @QueryParam("includeArchived") @DefaultValue("false") boolean includeArchived) {
+        if(ids != null) {
+            List<Long> taskIds = new ArrayList<Long>();
+            for(String id : StringUtils.split(ids, ',')) {
+                if(StringUtils.isNotBlank(id)) {
+                    try {
+                        taskIds.add(Long.parseLong(id.trim()));
+                    }
+                    catch(NumberFormatException ex) {
+                        OciTaskServResponse ociResponse = new OciTaskServResponse();
+                        ociResponse.setError(new OciError(OciErrorCode.INVALID_ARGUMENT, "Invalid Task Id - " + id));
+                        logger.error("Invalid Task Id - id={}", id);
+                        return prepareResponse(Response.Status.BAD_REQUEST, ociResponse);
+                    }
+                }
+            }
+            return getTasks(taskIds);
+        }
+
+        logger.debug("Load Tasks - includeArchived={}", includeArchived);
         OciTaskServResponse ociResponse = new OciTaskServResponse();
         Response.Status httpStatus = Response.Status.OK;
 
         try {
-            ociResponse.setTasks(ociTaskDao.findAll());
+            List<OciTask> tasks = ociTaskStore.findAll();
+            if(includeArchived) {
+                List<OciTask> archived = ociTaskStore.findAllArchived();
+                if(!archived.isEmpty()) {
+                    tasks = new ArrayList<OciTask>(tasks);
+                    tasks.addAll(archived);
+                }
+            }
+            ociResponse.setTasks(OciTaskInfo.fromAll(tasks));
+        }
+        catch(OciSingleFlightTimeoutException ex) {
+            httpStatus = Response.Status.SERVICE_UNAVAILABLE;
+            ociResponse.setError(new OciError(OciErrorCode.DATABASE_ERROR, ex.getMessage()));
+            logger.error("Timed out loading Tasks", ex);
         }
         catch(Exception ex) {
             httpStatus = Response.Status.INTERNAL_SERVER_ERROR;
             ociResponse.setError(new OciError(OciErrorCode.INTERNAL_ERROR, ex.getMessage()));
-            logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+            logger.error("Failed to load Tasks", ex);
         }
 
         return prepareResponse(httpStatus, ociResponse);
     }
 
+    @POST
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
+    @Consumes({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
+    @Path("/tasks:batchGet")
+    public Response batchGetTasks(OciTaskBatchGetRequest request) {
+        if(request == null || request.getIds() == null) {
+            OciTaskServResponse ociResponse = new OciTaskServResponse();
+            ociResponse.setError(new OciError(OciErrorCode.INVALID_ARGUMENT, "Task Ids cannot be null!"));
+            logger.error("Task Ids cannot be null!");
+            return prepareResponse(Response.Status.BAD_REQUEST, ociResponse);
+        }
+
+        return getTasks(request.getIds());
+    }
+
     @GET
-    @UnitOfWork
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
+    @Path("/tasks/stats")
+    public Response getTaskStats() {
+        logger.debug("Getting Task statistics");
+        OciTaskServResponse ociResponse = new OciTaskServResponse();
+        ociResponse.setStats(ociTaskStats.snapshot());
+        return prepareResponse(Response.Status.OK, ociResponse);
+    }
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
     @Path("/tasks/{id}")
     public Response getTask(@PathParam("id") long id) {
-        logger.info("Getting existing Task - taskId=" + id);
+        logger.debug("Getting existing Task - taskId={}", id);
         OciTaskServResponse ociResponse = new OciTaskServResponse();
         Response.Status httpStatus = Response.Status.OK;
 
         if(id != 0) {
             try {
-                Optional<OciTask> task = ociTaskDao.findById(id);
-                ociResponse.setTask(task.isPresent() ? task.get() : null);
+                Optional<OciTask> task = ociTaskStore.findById(id);
+                if(!task.isPresent()) {
+                    // Completed Tasks may have been moved to the archive table.
+                    task = ociTaskStore.findArchivedByIds(Collections.singletonList(id)).stream().findFirst();
+                }
+                ociResponse.setTask(task.isPresent() ? OciTaskInfo.from(task.get()) : null);
             } catch(NoSuchElementException ex) {
                 httpStatus = Response.Status.NOT_FOUND;
                 ociResponse.setError(new OciError(OciErrorCode.NO_DATA_FOUND, ex.getMessage()));
-                logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+                logger.error("Task not found - taskId={}", id, ex);
+            } catch(OciSingleFlightTimeoutException ex) {
+                httpStatus = Response.Status.SERVICE_UNAVAILABLE;
+                ociResponse.setError(new OciError(OciErrorCode.DATABASE_ERROR, ex.getMessage()));
+                logger.error("Timed out getting Task - taskId={}", id, ex);
             } catch(Exception ex) {
                 httpStatus = Response.Status.INTERNAL_SERVER_ERROR;
                 ociResponse.setError(new OciError(OciErrorCode.INTERNAL_ERROR, ex.getMessage()));
-                logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+                logger.error("Failed to get Task - taskId={}", id, ex);
             }
         }
         else {
@@ -190,20 +333,73 @@ public class OciTaskResource {
     }
 
     @DELETE
-    @UnitOfWork
+    @Produces({MediaType.APPLICATION_JSON, OciMediaType.APPLICATION_SMILE, OciMediaType.APPLICATION_CBOR})
     @Path("/tasks/{id}")
     public Response deleteTask(@PathParam("id") long id) {
-        logger.info("Deleting existing Task - taskId=" + id);
+        logger.debug("Deleting existing Task - taskId={}", id);
         OciTaskServResponse ociResponse = new OciTaskServResponse();
         Response.Status httpStatus = Response.Status.OK;
 
         try {
-            ociTaskDao.delete(id);
+            ociTaskWriter.delete(id);
+            httpStatus = ociTaskWriter.isDeferred() ? Response.Status.ACCEPTED : Response.Status.OK;
         }
         catch(Exception ex) {
             httpStatus = Response.Status.INTERNAL_SERVER_ERROR;
             ociResponse.setError(new OciError(OciErrorCode.INTERNAL_ERROR, ex.getMessage()));
-            logger.error(ex.toString() + " - Stacktrace: " + Arrays.asList(ex.getStackTrace()).toString());
+            logger.error("Failed to delete Task - taskId={}", id, ex);
+        }
+
+        return prepareResponse(httpStatus, ociResponse);
+    }
+
+    private Response getTasks(List<Long> ids) {
+        logger.debug("Getting Tasks - count={}", ids.size());
+        OciTaskServResponse ociResponse = new OciTaskServResponse();
+        Response.Status httpStatus = Response.Status.OK;
+
+        if(ids.size() > bulkConfig.getMaxBatchGetIds()) {
+            httpStatus = Response.Status.BAD_REQUEST;
+            ociResponse.setError(new OciError(OciErrorCode.INVALID_ARGUMENT,
+                    "At most " + bulkConfig.getMaxBatchGetIds() + " Task Ids are allowed!"));
+            logger.error("Too many Task Ids - count={}", ids.size());
+        }
+        else if(ids.contains(null)) {
+            httpStatus = Response.Status.BAD_REQUEST;
+            ociResponse.setError(new OciError(OciErrorCode.INVALID_ARGUMENT, "Task Ids cannot be null!"));
+            logger.error("Task Ids cannot be null!");
+        }
+        else {
+            try {
+                List<OciTask> tasks = ids.isEmpty() ? Collections.<OciTask>emptyList() : ociTaskStore.findByIds(ids);
+                List<Long> missingIds = new ArrayList<Long>();
+                for(int i = 0; i < ids.size(); i++) {
+                    if(tasks.get(i) == null) {
+                        missingIds.add(ids.get(i));
+                    }
+                }
+                Map<Long, OciTask> archived = new HashMap<Long, OciTask>();
+                if(!missingIds.isEmpty()) {
+                    for(OciTask task : ociTaskStore.findArchivedByIds(missingIds)) {
+                        archived.put(task.getId(), task);
+                    }
+                }
+
+                List<OciTaskBatchResult> results = new ArrayList<OciTaskBatchResult>(ids.size());
+                for(int i = 0; i < ids.size(); i++) {
+                    OciTask task = tasks.get(i) != null ? tasks.get(i) : archived.get(ids.get(i));
+                    results.add(task != null
+                            ? new OciTaskBatchResult(ids.get(i), OciTaskInfo.from(task), null)
+                            : new OciTaskBatchResult(ids.get(i), null,
+                                    new OciError(OciErrorCode.NO_DATA_FOUND, "Task not found")));
+                }
+                ociResponse.setResults(results);
+            }
+            catch(Exception ex) {
+                httpStatus = Response.Status.INTERNAL_SERVER_ERROR;
+                ociResponse.setError(new OciError(OciErrorCode.INTERNAL_ERROR, ex.getMessage()));
+                logger.error("Failed to get Tasks - count={}", ids.size(), ex);
+            }
         }
 
         return prepareResponse(httpStatus, ociResponse);
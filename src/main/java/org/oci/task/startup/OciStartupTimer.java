@@ -0,0 +1,69 @@
+package org.oci.task.startup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @brief Records how long each startup phase took and exposes the durations as gauges.
+ * @author rajeshkurup@live.com
+ *
+ * Gauges are named org.oci.task.startup.OciStartupTimer.&lt;phase&gt;-millis. The ready phase is the
+ * JVM uptime when the server started accepting requests.
+ */
+public class OciStartupTimer implements ServerLifecycleListener {
+
+    private static Logger logger = LoggerFactory.getLogger(OciStartupTimer.class);
+
+    private final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+
+    private MetricRegistry metrics;
+
+    /**
+     * @brief JVM uptime in milliseconds.
+     */
+    public static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    public synchronized void record(String phase, long millis) {
+        if(phases.put(phase, millis) == null && metrics != null) {
+            registerGauge(phase);
+        }
+    }
+
+    /**
+     * @brief Exposes phases recorded so far and any recorded later through the given registry.
+     */
+    public synchronized void bind(MetricRegistry metrics) {
+        this.metrics = metrics;
+        for(String phase : phases.keySet()) {
+            registerGauge(phase);
+        }
+    }
+
+    public synchronized Long getPhase(String phase) {
+        return phases.get(phase);
+    }
+
+    private void registerGauge(String phase) {
+        metrics.register(MetricRegistry.name(OciStartupTimer.class, phase + "-millis"),
+                (Gauge<Long>) () -> getPhase(phase));
+    }
+
+    @Override
+    public void serverStarted(Server server) {
+        record("ready", uptimeMillis());
+        synchronized(this) {
+            logger.info("Startup completed - phases={}", phases);
+        }
+    }
+
+}
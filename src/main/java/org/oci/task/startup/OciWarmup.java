@@ -0,0 +1,140 @@
+package org.oci.task.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.lifecycle.Managed;
+import org.oci.task.api.OciTaskInfo;
+import org.oci.task.api.OciTaskServRequest;
+import org.oci.task.api.OciTaskServResponse;
+import org.oci.task.db.OciTaskReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Exercises storage reads and serialization before the server accepts requests.
+ * @author rajeshkurup@live.com
+ *
+ * Managed objects start before Jetty opens its connectors, so the service is neither reachable nor
+ * reported healthy until warmup has finished. Warmup only reads. A failure is logged and does not
+ * prevent startup.
+ */
+public class OciWarmup implements Managed {
+
+    private static Logger logger = LoggerFactory.getLogger(OciWarmup.class);
+
+    private final OciTaskReader ociTaskStore;
+
+    private final List<ObjectMapper> mappers;
+
+    private final int connections;
+
+    private final int iterations;
+
+    private final OciStartupTimer startupTimer;
+
+    /**
+     * @param ociTaskStore Storage that manages its own unit of work.
+     * @param mappers Object mappers of every supported wire format.
+     * @param connections Concurrent reads issued first, so that several pooled connections are exercised.
+     * @param iterations Repetitions of each storage read and serialization round trip.
+     */
+    public OciWarmup(OciTaskReader ociTaskStore, List<ObjectMapper> mappers, int connections, int iterations,
+                     OciStartupTimer startupTimer) {
+        this.ociTaskStore = ociTaskStore;
+        this.mappers = mappers;
+        this.connections = connections;
+        this.iterations = iterations;
+        this.startupTimer = startupTimer;
+    }
+
+    @Override
+    public void start() throws Exception {
+        long started = System.nanoTime();
+        try {
+            primeConnections();
+            warmStorage();
+            warmSerialization();
+        }
+        catch(Exception ex) {
+            logger.warn("Warmup failed, continuing startup", ex);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        startupTimer.record("warmup", elapsed);
+        logger.info("Warmup completed - connections={}, iterations={}, elapsedMs={}", connections, iterations, elapsed);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        // Nothing to release
+    }
+
+    private void primeConnections() throws Exception {
+        if(connections <= 1) {
+            ociTaskStore.scan(0, 1);
+            return;
+        }
+
+        // Readers are released together so that their reads overlap and run on different pooled connections.
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        try {
+            CountDownLatch ready = new CountDownLatch(connections);
+            List<Future<?>> reads = new ArrayList<Future<?>>(connections);
+            for(int i = 0; i < connections; i++) {
+                reads.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await(10, TimeUnit.SECONDS);
+                    return ociTaskStore.scan(0, 1);
+                }));
+            }
+            for(Future<?> read : reads) {
+                read.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmStorage() {
+        for(int i = 0; i < iterations; i++) {
+            ociTaskStore.findById(1L + i);
+            ociTaskStore.scan(i, 1);
+        }
+    }
+
+    private void warmSerialization() throws Exception {
+        long now = System.currentTimeMillis();
+        List<OciTaskInfo> tasks = new ArrayList<OciTaskInfo>();
+        for(int i = 1; i <= 10; i++) {
+            tasks.add(new OciTaskInfo(i, i % 5, "Warmup Task " + i, "Warmup Task Description " + i,
+                    i % 2 == 0, now, now, now, now));
+        }
+        OciTaskServResponse response = new OciTaskServResponse();
+        response.setTasks(tasks);
+        response.setTask(tasks.get(0));
+
+        OciTaskServRequest request = new OciTaskServRequest();
+        request.setTitle("Warmup Task");
+        request.setDescription("Warmup Task Description");
+        request.setPriority(1);
+        request.setStartDate(new Date(now));
+        request.setDueDate(new Date(now));
+
+        for(ObjectMapper mapper : mappers) {
+            byte[] body = mapper.writeValueAsBytes(request);
+            for(int i = 0; i < iterations; i++) {
+                mapper.writeValueAsBytes(response);
+                mapper.readValue(body, OciTaskServRequest.class);
+            }
+        }
+    }
+
+}
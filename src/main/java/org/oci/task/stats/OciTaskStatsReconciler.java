@@ -0,0 +1,82 @@
+package org.oci.task.stats;
+
+import io.dropwizard.lifecycle.Managed;
+import org.oci.task.db.OciTaskReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Seeds the Task counters on start and periodically resets them from an aggregate query.
+ * @author rajeshkurup@live.com
+ *
+ * Also advances the overdue horizon every second, so due dates passing between reads of the statistics
+ * are moved into overdue in the background.
+ */
+public class OciTaskStatsReconciler implements Managed {
+
+    private static Logger logger = LoggerFactory.getLogger(OciTaskStatsReconciler.class);
+
+    private static final long ADVANCE_INTERVAL_MILLIS = 1000;
+
+    private final OciTaskReader ociTaskStore;
+
+    private final OciTaskStatsTracker tracker;
+
+    private final long intervalMillis;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param ociTaskStore Storage queried for the aggregate. Must manage its own unit of work.
+     * @param tracker Counters to reset.
+     * @param intervalMillis Delay between reconciliations. Zero only seeds on start.
+     */
+    public OciTaskStatsReconciler(OciTaskReader ociTaskStore, OciTaskStatsTracker tracker, long intervalMillis) {
+        this.ociTaskStore = ociTaskStore;
+        this.tracker = tracker;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @Override
+    public void start() throws Exception {
+        reconcile();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oci-task-stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> tracker.advance(System.currentTimeMillis()),
+                ADVANCE_INTERVAL_MILLIS, ADVANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if(intervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::reconcile, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if(executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * @brief Resets the counters from storage. Failures keep the current counters.
+     */
+    public void reconcile() {
+        try {
+            Date now = new Date();
+            tracker.reset(ociTaskStore.aggregateStats(now), ociTaskStore.countOpenByDueDate(now), now.getTime());
+            logger.debug("Reconciled Task statistics");
+        }
+        catch(Exception ex) {
+            logger.warn("Failed to reconcile Task statistics", ex);
+        }
+    }
+
+}
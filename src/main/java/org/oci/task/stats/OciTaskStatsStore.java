@@ -0,0 +1,140 @@
+package org.oci.task.stats;
+
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskStore;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @brief Task storage that feeds every mutation into an {@link OciTaskStatsTracker}.
+ * @author rajeshkurup@live.com
+ *
+ * Wraps the storage that actually applies mutations and runs inside the same unit of work, so the
+ * prior state of an updated or deleted Task is read from the session that then modifies it.
+ */
+public class OciTaskStatsStore implements OciTaskStore {
+
+    private final OciTaskStore delegate;
+
+    private final OciTaskStatsTracker tracker;
+
+    public OciTaskStatsStore(OciTaskStore delegate, OciTaskStatsTracker tracker) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public OciTask save(OciTask ociTask) {
+        if(ociTask.getId() == 0) {
+            OciTask created = delegate.save(ociTask);
+            tracker.onCreate(OciTaskStatsTracker.State.of(created));
+            return created;
+        }
+
+        Optional<OciTask> existing = delegate.findById(ociTask.getId());
+        OciTaskStatsTracker.State before = existing.isPresent() ? OciTaskStatsTracker.State.of(existing.get()) : null;
+        OciTask saved = delegate.save(ociTask);
+        if(before != null) {
+            tracker.onUpdate(before, OciTaskStatsTracker.State.of(saved));
+        }
+        else {
+            tracker.onCreate(OciTaskStatsTracker.State.of(saved));
+        }
+        return saved;
+    }
+
+    @Override
+    public void saveAll(List<OciTask> ociTasks) {
+        delegate.saveAll(ociTasks);
+        for(OciTask ociTask : ociTasks) {
+            tracker.onCreate(OciTaskStatsTracker.State.of(ociTask));
+        }
+    }
+
+    @Override
+    public boolean createWithId(OciTask ociTask) {
+        boolean created = delegate.createWithId(ociTask);
+        if(created) {
+            tracker.onCreate(OciTaskStatsTracker.State.of(ociTask));
+        }
+        return created;
+    }
+
+    @Override
+    public void delete(long id) {
+        Optional<OciTask> existing = delegate.findById(id);
+        if(existing.isPresent()) {
+            OciTaskStatsTracker.State before = OciTaskStatsTracker.State.of(existing.get());
+            delegate.delete(id);
+            tracker.onDelete(before);
+        }
+        else {
+            delegate.delete(id);
+        }
+    }
+
+    @Override
+    public Optional<OciTask> findById(long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<OciTask> findByIds(List<Long> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public List<OciTask> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<OciTask> scan(long afterId, int limit) {
+        return delegate.scan(afterId, limit);
+    }
+
+    @Override
+    public List<OciTask> findArchivedByIds(List<Long> ids) {
+        return delegate.findArchivedByIds(ids);
+    }
+
+    @Override
+    public List<OciTask> findAllArchived() {
+        return delegate.findAllArchived();
+    }
+
+    @Override
+    public long leaseIds(int count) {
+        return delegate.leaseIds(count);
+    }
+
+    @Override
+    public long encodeDescriptions(long afterId, int limit) {
+        return delegate.encodeDescriptions(afterId, limit);
+    }
+
+    @Override
+    public int archiveCompleted(Date completedBefore, int limit) {
+        return delegate.archiveCompleted(completedBefore, limit);
+    }
+
+    @Override
+    public OciTaskStats aggregateStats(Date now) {
+        return delegate.aggregateStats(now);
+    }
+
+    @Override
+    public Map<Long, Long> countOpenByDueDate(Date from) {
+        return delegate.countOpenByDueDate(from);
+    }
+
+    @Override
+    public boolean isDeferred() {
+        return delegate.isDeferred();
+    }
+
+}
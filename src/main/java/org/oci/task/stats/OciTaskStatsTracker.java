@@ -0,0 +1,206 @@
+package org.oci.task.stats;
+
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciTask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @brief In-memory Task counters backing the statistics API.
+ * @author rajeshkurup@live.com
+ *
+ * Counters are striped LongAdders, so concurrent mutations never contend on a single cache line.
+ * Open Tasks due before the horizon are counted in overdue; later ones are counted by due date until
+ * {@link #advance(long)} moves the horizon past their due date and their count into overdue. Each due
+ * date is moved once, so reading overdue costs O(1) amortized however many Tasks are overdue, and a
+ * Task passing its due date between two mutations is counted and uncounted consistently.
+ */
+public class OciTaskStatsTracker {
+
+    // Marks a due date whose count was moved into overdue; mutations that find it start a new count.
+    private static final long MOVED = Long.MIN_VALUE;
+
+    private final LongAdder open = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder overdue = new LongAdder();
+
+    private final ConcurrentSkipListMap<Long, AtomicLong> pendingByDueDate = new ConcurrentSkipListMap<Long, AtomicLong>();
+
+    private volatile long horizon = Long.MIN_VALUE;
+
+    private final ConcurrentMap<Integer, LongAdder> byPriority = new ConcurrentHashMap<Integer, LongAdder>();
+
+    public void onCreate(State created) {
+        add(created, 1);
+    }
+
+    public void onUpdate(State before, State after) {
+        add(before, -1);
+        add(after, 1);
+    }
+
+    public void onDelete(State deleted) {
+        add(deleted, -1);
+    }
+
+    /**
+     * @brief Replaces all counters with the given counts.
+     * @param stats Counts with overdue taken as of asOf.
+     * @param openDueFrom Open Tasks due at or after asOf, by due date.
+     *
+     * Mutations racing with the reset may be lost or counted twice; the next reset corrects them.
+     */
+    public synchronized void reset(OciTaskStats stats, Map<Long, Long> openDueFrom, long asOf) {
+        set(open, stats.getOpen());
+        set(completed, stats.getCompleted());
+        set(overdue, stats.getOverdue());
+        pendingByDueDate.clear();
+        for(Map.Entry<Long, Long> entry : openDueFrom.entrySet()) {
+            pendingByDueDate.put(entry.getKey(), new AtomicLong(entry.getValue()));
+        }
+        horizon = asOf;
+        for(Map.Entry<Integer, LongAdder> entry : byPriority.entrySet()) {
+            if(!stats.getByPriority().containsKey(entry.getKey())) {
+                entry.getValue().reset();
+            }
+        }
+        for(Map.Entry<Integer, Long> entry : stats.getByPriority().entrySet()) {
+            set(bucket(entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     * @brief Moves the count of every due date before now into overdue. Called on a schedule and by snapshot.
+     */
+    public void advance(long now) {
+        if(now <= horizon) {
+            return;
+        }
+
+        synchronized(this) {
+            if(now <= horizon) {
+                return;
+            }
+            // The horizon moves first, so a mutation adding to a passed due date after this sweep moves it itself.
+            horizon = now;
+            for(Map.Entry<Long, AtomicLong> entry : pendingByDueDate.headMap(now).entrySet()) {
+                move(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public OciTaskStats snapshot() {
+        advance(System.currentTimeMillis());
+        OciTaskStats stats = new OciTaskStats();
+        stats.setOpen(open.sum());
+        stats.setCompleted(completed.sum());
+        stats.setTotal(stats.getOpen() + stats.getCompleted());
+        stats.setOverdue(overdue.sum());
+        for(Map.Entry<Integer, LongAdder> entry : byPriority.entrySet()) {
+            long count = entry.getValue().sum();
+            if(count != 0) {
+                stats.getByPriority().put(entry.getKey(), count);
+            }
+        }
+        return stats;
+    }
+
+    private void add(State state, long delta) {
+        if(state.completed) {
+            completed.add(delta);
+        }
+        else {
+            open.add(delta);
+            if(state.dueDate != null) {
+                addDue(state.dueDate, delta);
+            }
+        }
+        bucket(state.priority).add(delta);
+    }
+
+    private void addDue(long dueDate, long delta) {
+        while(true) {
+            if(dueDate < horizon) {
+                overdue.add(delta);
+                return;
+            }
+
+            AtomicLong pending = pendingByDueDate.computeIfAbsent(dueDate, key -> new AtomicLong());
+            long count = pending.get();
+            if(count == MOVED) {
+                pendingByDueDate.remove(dueDate, pending);
+                continue;
+            }
+            if(pending.compareAndSet(count, count + delta)) {
+                if(dueDate < horizon) {
+                    // advance() may have swept past this due date before the count was created.
+                    move(dueDate, pending);
+                }
+                else if(count + delta == 0 && pending.compareAndSet(0, MOVED)) {
+                    // Dropping zero counts keeps the index to due dates that open Tasks still have.
+                    pendingByDueDate.remove(dueDate, pending);
+                }
+                return;
+            }
+        }
+    }
+
+    private void move(Long dueDate, AtomicLong pending) {
+        long count = pending.getAndSet(MOVED);
+        if(count != MOVED) {
+            overdue.add(count);
+        }
+        pendingByDueDate.remove(dueDate, pending);
+    }
+
+    /**
+     * @brief Number of due dates not yet passed that open Tasks have.
+     */
+    int pendingDueDates() {
+        return pendingByDueDate.size();
+    }
+
+    private LongAdder bucket(int priority) {
+        LongAdder bucket = byPriority.get(priority);
+        return bucket != null ? bucket : byPriority.computeIfAbsent(priority, key -> new LongAdder());
+    }
+
+    private static void set(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    /**
+     * @brief The fields of a Task that the counters depend on.
+     *
+     * Captured before a mutation, since storage may update the loaded Task in place.
+     */
+    public static final class State {
+
+        private final boolean completed;
+
+        private final int priority;
+
+        private final Long dueDate;
+
+        private State(boolean completed, int priority, Long dueDate) {
+            this.completed = completed;
+            this.priority = priority;
+            this.dueDate = dueDate;
+        }
+
+        public static State of(OciTask ociTask) {
+            return new State(Boolean.TRUE.equals(ociTask.isCompleted()), ociTask.getPriority(),
+                    ociTask.getDueDate() != null ? ociTask.getDueDate().getTime() : null);
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.oci.task.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import org.oci.task.core.OciTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @brief Cost of writing Tasks as JSON: the entity as before, and the API view with and without
+ * {@link OciTaskInfoSerializer}.
+ * @author rajeshkurup@live.com
+ *
+ * Both API view cases write the same prebuilt list; mapping entities to it is measured on its own.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OciTaskInfoSerializerBenchmark {
+
+    private final ObjectMapper mapper = Jackson.newObjectMapper();
+
+    private final ObjectMapper reflective = OciTaskInfoSerializerTest.newReflectiveMapper();
+
+    @Param({"1000", "10000", "100000"})
+    public int count;
+
+    private List<OciTask> tasks;
+
+    private List<OciTaskInfo> infos;
+
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<OciTask>(count);
+        for(int i = 0; i < count; i++) {
+            OciTask task = new OciTask();
+            task.setId(1000L + i);
+            task.setPriority(i % 5);
+            task.setTitle("task " + i);
+            task.setDescription("description of task " + i);
+            task.setCompleted(i % 3 == 0);
+            task.setDueDate(new Date(1672531200000L + i * 86400000L));
+            task.setTimeUpdated(new Date(1672531200000L + i));
+            task.setTimeCreated(new Date(1672531200000L));
+            tasks.add(task);
+        }
+        infos = OciTaskInfo.fromAll(tasks);
+    }
+
+    @Benchmark
+    public byte[] entity() throws IOException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] reflective() throws IOException {
+        return reflective.writeValueAsBytes(infos);
+    }
+
+    @Benchmark
+    public byte[] handWritten() throws IOException {
+        return mapper.writeValueAsBytes(infos);
+    }
+
+    @Benchmark
+    public List<OciTaskInfo> fromAll() {
+        return OciTaskInfo.fromAll(tasks);
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.oci.task.api;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dropwizard.jackson.Jackson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskInfoSerializer}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskInfoSerializerTest {
+
+    @Test
+    public void testMatchesReflectiveSerialization() throws Exception {
+        ObjectMapper mapper = Jackson.newObjectMapper();
+        ObjectMapper reflective = newReflectiveMapper();
+
+        for(OciTaskInfo task : OciWireFormatTest.newResponse(4).getTasks()) {
+            Assertions.assertEquals(reflective.readTree(reflective.writeValueAsBytes(task)),
+                    mapper.readTree(mapper.writeValueAsBytes(task)));
+        }
+    }
+
+    @Test
+    public void testWritesNullFields() throws Exception {
+        OciTaskInfo task = new OciTaskInfo(1001L, 2, "test task", null, false, null, null, null, null);
+
+        String json = Jackson.newObjectMapper().writeValueAsString(task);
+
+        Assertions.assertEquals("{\"id\":1001,\"priority\":2,\"title\":\"test task\",\"description\":null,"
+                + "\"completed\":false,\"startDate\":null,\"dueDate\":null,\"timeUpdated\":null,\"timeCreated\":null}", json);
+    }
+
+    /**
+     * @brief Mapper that serializes {@link OciTaskInfo} through bean introspection instead.
+     */
+    static ObjectMapper newReflectiveMapper() {
+        return Jackson.newObjectMapper().addMixIn(OciTaskInfo.class, ReflectiveMixIn.class);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface ReflectiveMixIn {
+    }
+
+}
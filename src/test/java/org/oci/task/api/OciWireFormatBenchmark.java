@@ -0,0 +1,64 @@
+package org.oci.task.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.dropwizard.jackson.Jackson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+/**
+ * @brief Serialization and deserialization throughput of a 100 Task response per wire format.
+ * @author rajeshkurup@live.com
+ *
+ * Compare the ops/s of each format; payload sizes are asserted by {@link OciWireFormatTest}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OciWireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+
+    private OciTaskServResponse response;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        if("smile".equals(format)) {
+            mapper = Jackson.newObjectMapper(new SmileFactory());
+        }
+        else if("cbor".equals(format)) {
+            mapper = Jackson.newObjectMapper(new CBORFactory());
+        }
+        else {
+            mapper = Jackson.newObjectMapper();
+        }
+        response = OciWireFormatTest.newResponse(100);
+        payload = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public OciTaskServResponse deserialize() throws IOException {
+        return mapper.readValue(payload, OciTaskServResponse.class);
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.oci.task.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.dropwizard.jackson.Jackson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @brief Unit Test helper for the Smile and CBOR wire formats of {@link OciTaskServResponse}
+ * @author rajeshkurup@live.com
+ */
+public class OciWireFormatTest {
+
+    private static final ObjectMapper JSON_MAPPER = Jackson.newObjectMapper();
+
+    private static final ObjectMapper SMILE_MAPPER = Jackson.newObjectMapper(new SmileFactory());
+
+    private static final ObjectMapper CBOR_MAPPER = Jackson.newObjectMapper(new CBORFactory());
+
+    @Test
+    public void testBinaryFormatsAreSmallerThanJson() throws Exception {
+        OciTaskServResponse response = newResponse(100);
+
+        int json = JSON_MAPPER.writeValueAsBytes(response).length;
+        int smile = SMILE_MAPPER.writeValueAsBytes(response).length;
+        int cbor = CBOR_MAPPER.writeValueAsBytes(response).length;
+
+        // Smile back-references repeated field names, CBOR encodes numbers and booleans in binary.
+        Assertions.assertTrue(smile < json * 0.6, "smile=" + smile + ", json=" + json);
+        Assertions.assertTrue(cbor < json * 0.9, "cbor=" + cbor + ", json=" + json);
+    }
+
+    @Test
+    public void testBinaryFormatsRoundTrip() throws Exception {
+        OciTaskServResponse response = newResponse(3);
+
+        for(ObjectMapper mapper : new ObjectMapper[] { JSON_MAPPER, SMILE_MAPPER, CBOR_MAPPER }) {
+            OciTaskServResponse read = mapper.readValue(mapper.writeValueAsBytes(response), OciTaskServResponse.class);
+
+            Assertions.assertEquals(3, read.getTasks().size());
+            for(int i = 0; i < 3; i++) {
+                OciTaskInfo expected = response.getTasks().get(i);
+                OciTaskInfo actual = read.getTasks().get(i);
+                Assertions.assertEquals(expected.getId(), actual.getId());
+                Assertions.assertEquals(expected.getTitle(), actual.getTitle());
+                Assertions.assertEquals(expected.getDescription(), actual.getDescription());
+                Assertions.assertEquals(expected.isCompleted(), actual.isCompleted());
+                Assertions.assertEquals(expected.getDueDate(), actual.getDueDate());
+                Assertions.assertEquals(expected.getStartDate(), actual.getStartDate());
+            }
+        }
+    }
+
+    static OciTaskServResponse newResponse(int count) {
+        List<OciTaskInfo> tasks = new ArrayList<OciTaskInfo>(count);
+        long now = 1672531200000L;
+        for(int i = 0; i < count; i++) {
+            tasks.add(new OciTaskInfo(1000L + i, i % 5, "task " + i, "description of task " + i, i % 3 == 0,
+                    i % 2 == 0 ? now : null, now + i * 86400000L, now + i, now));
+        }
+        OciTaskServResponse response = new OciTaskServResponse();
+        response.setTasks(tasks);
+        return response;
+    }
+
+}
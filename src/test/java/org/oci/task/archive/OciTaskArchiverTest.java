@@ -0,0 +1,60 @@
+package org.oci.task.archive;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oci.task.db.OciTaskStore;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskArchiver}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskArchiverTest {
+
+    @Test
+    public void testArchiveMovesBatchesUntilShortBatch() {
+        OciTaskStore store = Mockito.mock(OciTaskStore.class);
+        Mockito.when(store.archiveCompleted(Mockito.any(Date.class), Mockito.eq(10))).thenReturn(10, 10, 3);
+        AtomicInteger reconciles = new AtomicInteger();
+        MetricRegistry metrics = new MetricRegistry();
+
+        OciTaskArchiver archiver = new OciTaskArchiver(store, 1000L, 60000L, 10, 0L, 100,
+                reconciles::incrementAndGet, metrics);
+
+        Assertions.assertEquals(23, archiver.archive());
+        Assertions.assertEquals(1, reconciles.get());
+        Assertions.assertEquals(23, metrics.meter(MetricRegistry.name(OciTaskArchiver.class, "archived")).getCount());
+        Mockito.verify(store, Mockito.times(3)).archiveCompleted(Mockito.any(Date.class), Mockito.eq(10));
+    }
+
+    @Test
+    public void testArchiveStopsAtMaxBatchesPerRun() {
+        OciTaskStore store = Mockito.mock(OciTaskStore.class);
+        Mockito.when(store.archiveCompleted(Mockito.any(Date.class), Mockito.eq(10))).thenReturn(10);
+
+        OciTaskArchiver archiver = new OciTaskArchiver(store, 1000L, 60000L, 10, 0L, 2,
+                () -> { }, new MetricRegistry());
+
+        Assertions.assertEquals(20, archiver.archive());
+        Mockito.verify(store, Mockito.times(2)).archiveCompleted(Mockito.any(Date.class), Mockito.eq(10));
+    }
+
+    @Test
+    public void testArchiveNothingSkipsReconcile() {
+        OciTaskStore store = Mockito.mock(OciTaskStore.class);
+        Mockito.when(store.archiveCompleted(Mockito.any(Date.class), Mockito.anyInt()))
+                .thenThrow(new RuntimeException("failed"));
+        AtomicInteger reconciles = new AtomicInteger();
+
+        OciTaskArchiver archiver = new OciTaskArchiver(store, 1000L, 60000L, 10, 0L, 100,
+                reconciles::incrementAndGet, new MetricRegistry());
+
+        Assertions.assertEquals(0, archiver.archive());
+        Assertions.assertEquals(0, reconciles.get());
+    }
+
+}
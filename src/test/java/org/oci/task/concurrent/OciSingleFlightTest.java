@@ -0,0 +1,140 @@
+package org.oci.task.concurrent;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @brief Unit Test helper for {@link OciSingleFlight}
+ * @author rajeshkurup@live.com
+ */
+public class OciSingleFlightTest {
+
+    @Test
+    public void testConcurrentLoadsAreCoalesced() throws Exception {
+        MetricRegistry metrics = new MetricRegistry();
+        OciSingleFlight<Long, String> singleFlight = new OciSingleFlight<Long, String>("test", 5000, metrics);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "task";
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<Future<String>>();
+            for(int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> singleFlight.load(1L, () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while(metrics.meter("test.coalesced").getCount() < 4) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Assertions.assertEquals("task", leader.get(5, TimeUnit.SECONDS));
+            for(Future<String> follower : followers) {
+                Assertions.assertEquals("task", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, metrics.meter("test.loads").getCount());
+        Assertions.assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    public void testLoadFailureIsShared() throws Exception {
+        MetricRegistry metrics = new MetricRegistry();
+        OciSingleFlight<Long, String> singleFlight = new OciSingleFlight<Long, String>("test", 5000, metrics);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalArgumentException("load failed");
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> {
+                try {
+                    return singleFlight.load(1L, () -> "other");
+                }
+                catch(IllegalArgumentException ex) {
+                    return ex.getMessage();
+                }
+            });
+            while(metrics.meter("test.coalesced").getCount() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Assertions.assertEquals("load failed", follower.get(5, TimeUnit.SECONDS));
+            Assertions.assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals("next", singleFlight.load(1L, () -> "next"));
+    }
+
+    @Test
+    public void testFollowerTimesOut() throws Exception {
+        MetricRegistry metrics = new MetricRegistry();
+        OciSingleFlight<Long, String> singleFlight = new OciSingleFlight<Long, String>("test", 10, metrics);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.load(1L, () -> {
+                loading.countDown();
+                await(release);
+                return "task";
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertThrows(OciSingleFlightTimeoutException.class, () -> singleFlight.load(1L, () -> "other"));
+            Assertions.assertEquals(1, metrics.meter("test.timeouts").getCount());
+
+            Assertions.assertEquals("other", singleFlight.load(2L, () -> "other"));
+        }
+        finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.oci.task.config;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import org.oci.task.core.OciTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Latency of a read-only Load a Task unit of work per JDBC tuning profile, against a real MySQL.
+ * @author rajeshkurup@live.com
+ *
+ * Each operation does what Hibernate does for findById: borrow a pooled connection, switch it to a
+ * read-only transaction, run the prepared select, commit and restore the connection. The difference
+ * between profiles is the server round trips saved by local session state, server prepared statement
+ * caching and validation off the borrow path. Needs a migrated database given by the environment
+ * variables OCI_BENCHMARK_DB_URL, OCI_BENCHMARK_DB_USER and OCI_BENCHMARK_DB_PASSWORD.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OciJdbcTuningBenchmark {
+
+    private static final String SELECT_SQL = "SELECT ID, PRIORITY, TITLE, DESCRIPTION, DESCRIPTION_DATA, COMPLETED,"
+            + " START_DATE, DUE_DATE, TIME_UPDATED, TIME_CREATED FROM " + OciTask.TABLE_NAME + " WHERE ID = ?";
+
+    @Param({"plain", "tuned", "backgroundValidation"})
+    public String profile;
+
+    private ManagedDataSource dataSource;
+
+    private long taskId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = System.getenv("OCI_BENCHMARK_DB_URL");
+        if(url == null) {
+            throw new IllegalStateException("Set OCI_BENCHMARK_DB_URL, OCI_BENCHMARK_DB_USER and OCI_BENCHMARK_DB_PASSWORD");
+        }
+
+        DataSourceFactory database = new DataSourceFactory();
+        database.setDriverClass("com.mysql.cj.jdbc.Driver");
+        database.setUrl(url);
+        database.setUser(System.getenv("OCI_BENCHMARK_DB_USER"));
+        database.setPassword(System.getenv("OCI_BENCHMARK_DB_PASSWORD"));
+        // Pool validation as in ocitaskrestservice.yml.
+        database.setValidationQuery("SELECT 1");
+        database.setCheckConnectionOnBorrow(true);
+        database.setCheckConnectionWhileIdle(false);
+        database.setMinSize(1);
+        database.setInitialSize(1);
+
+        OciJdbcTuningConfiguration jdbcTuning = new OciJdbcTuningConfiguration();
+        jdbcTuning.setEnabled(!"plain".equals(profile));
+        jdbcTuning.setBackgroundValidation("backgroundValidation".equals(profile));
+        jdbcTuning.applyTo(database);
+        // Hibernate settings are not connection properties.
+        database.getProperties().remove("hibernate.jdbc.batch_size");
+        database.getProperties().remove("hibernate.order_updates");
+
+        dataSource = database.build(new MetricRegistry(), "benchmark");
+        dataSource.start();
+        taskId = ensureTask();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
+    @Benchmark
+    public String loadTask() throws SQLException {
+        try(Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try(PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+                statement.setLong(1, taskId);
+                try(ResultSet rows = statement.executeQuery()) {
+                    String title = rows.next() ? rows.getString(3) : null;
+                    connection.commit();
+                    return title;
+                }
+            }
+            finally {
+                connection.setAutoCommit(true);
+                connection.setReadOnly(false);
+            }
+        }
+    }
+
+    private long ensureTask() throws SQLException {
+        try(Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            try(ResultSet rows = statement.executeQuery("SELECT MIN(ID) FROM " + OciTask.TABLE_NAME)) {
+                if(rows.next() && rows.getLong(1) != 0) {
+                    return rows.getLong(1);
+                }
+            }
+            statement.executeUpdate("INSERT INTO " + OciTask.TABLE_NAME + " (PRIORITY, TITLE) VALUES (1, 'benchmark task')",
+                    Statement.RETURN_GENERATED_KEYS);
+            try(ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+}
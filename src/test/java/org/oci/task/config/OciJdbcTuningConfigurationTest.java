@@ -0,0 +1,84 @@
+package org.oci.task.config;
+
+import io.dropwizard.db.DataSourceFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * @brief Unit Test helper for {@link OciJdbcTuningConfiguration}
+ * @author rajeshkurup@live.com
+ */
+public class OciJdbcTuningConfigurationTest {
+
+    @Test
+    public void testApplyConnectorProperties() {
+        DataSourceFactory database = newDatabase();
+        database.getProperties().put("useServerPrepStmts", "false");
+
+        new OciJdbcTuningConfiguration().applyTo(database);
+
+        Map<String, String> properties = database.getProperties();
+        Assertions.assertEquals("true", properties.get("cachePrepStmts"));
+        Assertions.assertEquals("250", properties.get("prepStmtCacheSize"));
+        Assertions.assertEquals("2048", properties.get("prepStmtCacheSqlLimit"));
+        Assertions.assertEquals("true", properties.get("useServerPrepStmts"));
+        Assertions.assertEquals("true", properties.get("rewriteBatchedStatements"));
+        Assertions.assertEquals("true", properties.get("useCursorFetch"));
+        Assertions.assertEquals("true", properties.get("useLocalSessionState"));
+        Assertions.assertEquals("true", properties.get("cacheServerConfiguration"));
+        Assertions.assertEquals("true", properties.get("cacheResultSetMetadata"));
+        Assertions.assertEquals("50", properties.get("hibernate.jdbc.batch_size"));
+        Assertions.assertEquals("true", properties.get("hibernate.order_updates"));
+        Assertions.assertEquals("org.hibernate.dialect.MySQL8Dialect", properties.get("hibernate.dialect"));
+    }
+
+    @Test
+    public void testPoolValidationKeptByDefault() {
+        DataSourceFactory database = newDatabase();
+
+        new OciJdbcTuningConfiguration().applyTo(database);
+
+        Assertions.assertTrue(database.getCheckConnectionOnBorrow());
+        Assertions.assertFalse(database.getCheckConnectionWhileIdle());
+    }
+
+    @Test
+    public void testBackgroundValidation() {
+        DataSourceFactory database = newDatabase();
+        OciJdbcTuningConfiguration jdbcTuning = new OciJdbcTuningConfiguration();
+        jdbcTuning.setBackgroundValidation(true);
+
+        jdbcTuning.applyTo(database);
+
+        Assertions.assertFalse(database.getCheckConnectionOnBorrow());
+        Assertions.assertTrue(database.getCheckConnectionWhileIdle());
+    }
+
+    @Test
+    public void testDisabled() {
+        DataSourceFactory database = newDatabase();
+        OciJdbcTuningConfiguration jdbcTuning = new OciJdbcTuningConfiguration();
+        jdbcTuning.setEnabled(false);
+        jdbcTuning.setBackgroundValidation(true);
+
+        jdbcTuning.applyTo(database);
+
+        Assertions.assertEquals(1, database.getProperties().size());
+        Assertions.assertTrue(database.getCheckConnectionOnBorrow());
+        Assertions.assertFalse(database.getCheckConnectionWhileIdle());
+    }
+
+    /**
+     * @brief Database settings as in ocitaskrestservice.yml.
+     */
+    private static DataSourceFactory newDatabase() {
+        DataSourceFactory database = new DataSourceFactory();
+        database.getProperties().put("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect");
+        database.setCheckConnectionOnBorrow(true);
+        database.setCheckConnectionWhileIdle(false);
+        return database;
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.oci.task.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @brief Encode and decode cost of a description per deflate level and size.
+ * @author rajeshkurup@live.com
+ *
+ * The compression ratio of each combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OciDescriptionCodecBenchmark {
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    @Param({"4096", "65536"})
+    public int length;
+
+    private String description;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OciDescriptionCodec.configure(true, 0, level);
+        description = OciDescriptionCodecTest.prose(length, 42L);
+        data = OciDescriptionCodec.encode(description);
+        System.out.printf("level=%d, length=%d, ratio=%.3f%n", level, length,
+                (double) data.length / description.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        OciDescriptionCodec.configure(false, 4096, 6);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return OciDescriptionCodec.encode(description);
+    }
+
+    @Benchmark
+    public String decode() {
+        return OciDescriptionCodec.decode(data);
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.oci.task.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @brief Unit Test helper for {@link OciDescriptionCodec} and {@link OciDescriptionConverter}
+ * @author rajeshkurup@live.com
+ */
+public class OciDescriptionCodecTest {
+
+    private final OciDescriptionConverter converter = new OciDescriptionConverter();
+
+    @AfterEach
+    public void tearDown() {
+        OciDescriptionCodec.configure(false, 4096, 6);
+    }
+
+    @Test
+    public void testRepetitiveDescriptionIsDeflated() {
+        String description = repeat("Rotate the OCI API signing keys of every tenancy. ", 200);
+
+        byte[] data = converter.convertToDatabaseColumn(description);
+
+        Assertions.assertEquals(OciDescriptionCodec.DEFLATE, data[0]);
+        Assertions.assertTrue(data.length < description.length() / 4);
+        Assertions.assertEquals(description, converter.convertToEntityAttribute(data));
+    }
+
+    @Test
+    public void testDescriptionNotShrinkingIsRaw() {
+        byte[] data = converter.convertToDatabaseColumn("x");
+
+        Assertions.assertEquals(OciDescriptionCodec.RAW, data[0]);
+        Assertions.assertEquals(2, data.length);
+        Assertions.assertEquals("x", converter.convertToEntityAttribute(data));
+    }
+
+    @Test
+    public void testNullAndEmptyDescriptions() {
+        Assertions.assertNull(converter.convertToDatabaseColumn(null));
+        Assertions.assertNull(converter.convertToEntityAttribute(null));
+        Assertions.assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")));
+    }
+
+    @Test
+    public void testCorruptDescriptionIsRejected() {
+        byte[] data = converter.convertToDatabaseColumn(repeat("abc", 1000));
+        byte[] truncated = Arrays.copyOf(data, 8);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(truncated));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(new byte[] {9}));
+    }
+
+    @Test
+    public void testTaskKeepsLongDescriptionEncoded() {
+        OciDescriptionCodec.configure(true, 10, 6);
+        OciTask task = new OciTask();
+
+        task.setDescription("short");
+        Assertions.assertFalse(OciDescriptionCodec.shouldEncode(task.getDescription()));
+        Assertions.assertEquals("short", task.getDescription());
+
+        task.setDescription("a much longer description");
+        Assertions.assertTrue(OciDescriptionCodec.shouldEncode(task.getDescription()));
+        Assertions.assertEquals("a much longer description", task.getDescription());
+
+        task.setDescription(null);
+        Assertions.assertNull(task.getDescription());
+    }
+
+    @Test
+    public void testProseDescriptionCompressionRatio() {
+        String description = prose(8192, 42L);
+        int plain = description.getBytes(StandardCharsets.UTF_8).length;
+
+        byte[] data = converter.convertToDatabaseColumn(description);
+
+        Assertions.assertEquals(OciDescriptionCodec.DEFLATE, data[0]);
+        Assertions.assertTrue(data.length < plain / 2, "encoded=" + data.length + ", plain=" + plain);
+        Assertions.assertEquals(description, converter.convertToEntityAttribute(data));
+    }
+
+    /**
+     * @brief Non-repeating text of at least length characters drawn from a fixed vocabulary.
+     */
+    static String prose(int length, long seed) {
+        String[] words = ("the a to of and for in on with is be must when after before each every task tenancy "
+                + "compartment instance bucket policy key rotate review update deploy migrate backup restore "
+                + "verify approve schedule owner team region availability domain database network subnet "
+                + "gateway certificate expires quarterly weekly release ticket incident customer audit").split(" ");
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length + 16);
+        while(builder.length() < length) {
+            builder.append(words[random.nextInt(words.length)]);
+            builder.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return builder.toString();
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.oci.task.db;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oci.task.core.OciTask;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskMemoryStore}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskMemoryStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSaveAndFindById() {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+
+        OciTask saved = store.save(newTask("test task"));
+
+        Optional<OciTask> task = store.findById(saved.getId());
+
+        Assertions.assertTrue(task.isPresent());
+        Assertions.assertEquals("test task", task.get().getTitle());
+        Assertions.assertEquals(3, task.get().getPriority());
+        Assertions.assertEquals(new Date(5000L), task.get().getDueDate());
+        Assertions.assertNull(task.get().getStartDate());
+        Assertions.assertNotNull(task.get().getTimeCreated());
+    }
+
+    @Test
+    public void testUpdateTask() {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        OciTask saved = store.save(newTask("test task"));
+
+        OciTask update = newTask("updated task");
+        update.setId(saved.getId());
+        update.setCompleted(true);
+        store.save(update);
+
+        OciTask task = store.findById(saved.getId()).get();
+
+        Assertions.assertEquals("updated task", task.getTitle());
+        Assertions.assertTrue(task.isCompleted());
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testUpdateTaskFailedNotFound() {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+
+        OciTask update = newTask("updated task");
+        update.setId(1001L);
+
+        Assertions.assertThrows(NoSuchElementException.class, () -> store.save(update));
+    }
+
+    @Test
+    public void testDeleteTask() {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        OciTask saved = store.save(newTask("test task"));
+
+        store.delete(saved.getId());
+        store.delete(1001L);
+
+        Assertions.assertFalse(store.findById(saved.getId()).isPresent());
+        Assertions.assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testFindAllAndScan() {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        for(int i = 0; i < 500; i++) {
+            store.save(newTask("task " + i));
+        }
+
+        List<OciTask> all = store.findAll();
+        List<OciTask> page = store.scan(100L, 10);
+
+        Assertions.assertEquals(500, all.size());
+        Assertions.assertEquals(1L, all.get(0).getId());
+        Assertions.assertEquals(10, page.size());
+        Assertions.assertEquals(101L, page.get(0).getId());
+        Assertions.assertEquals(110L, page.get(9).getId());
+    }
+
+    @Test
+    public void testScanPagesInIdOrder() {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        // Ids arrive out of order and spread over the segments.
+        for(int i = 0; i < 1000; i++) {
+            OciTask task = newTask("task " + i);
+            task.setId((i * 7919L) % 1000 + 1);
+            store.createWithId(task);
+        }
+        for(long id = 3; id <= 1000; id += 3) {
+            store.delete(id);
+        }
+
+        List<Long> ids = new ArrayList<Long>();
+        List<OciTask> page = store.scan(0L, 64);
+        while(!page.isEmpty()) {
+            Assertions.assertTrue(page.size() <= 64);
+            for(OciTask task : page) {
+                ids.add(task.getId());
+            }
+            page = store.scan(page.get(page.size() - 1).getId(), 64);
+        }
+
+        Assertions.assertEquals(667, ids.size());
+        for(int i = 1; i < ids.size(); i++) {
+            Assertions.assertTrue(ids.get(i - 1) < ids.get(i));
+            Assertions.assertNotEquals(0L, ids.get(i) % 3);
+        }
+        Assertions.assertTrue(store.scan(1000L, 64).isEmpty());
+    }
+
+    @Test
+    public void testRecoverFromJournalAndSnapshot() throws Exception {
+        Path journal = tempDir.resolve("tasks.journal");
+        Path snapshot = tempDir.resolve("tasks.snapshot");
+
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4, journal, snapshot, 3, false);
+        store.start();
+        for(int i = 0; i < 10; i++) {
+            store.save(newTask("task " + i));
+        }
+        store.delete(1L);
+        store.awaitSnapshot();
+
+        // Simulate a crash in the middle of a journal append.
+        Files.write(journal, new byte[] { 1, 0, 0 }, StandardOpenOption.APPEND);
+
+        OciTaskMemoryStore recovered = new OciTaskMemoryStore(8, journal, snapshot, 3, false);
+        recovered.start();
+
+        Assertions.assertEquals(9, recovered.size());
+        Assertions.assertFalse(recovered.findById(1L).isPresent());
+        Assertions.assertEquals("task 9", recovered.findById(10L).get().getTitle());
+        Assertions.assertEquals(11L, recovered.save(newTask("task 10")).getId());
+
+        recovered.stop();
+
+        Assertions.assertEquals(0L, Files.size(journal));
+    }
+
+    @Test
+    public void testSnapshotInBackground() throws Exception {
+        Path journal = tempDir.resolve("tasks.journal");
+        Path snapshot = tempDir.resolve("tasks.snapshot");
+
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4, journal, snapshot, 5, false);
+        store.start();
+        for(int i = 0; i < 5; i++) {
+            store.save(newTask("task " + i));
+        }
+        store.awaitSnapshot();
+        store.save(newTask("task 5"));
+
+        Assertions.assertTrue(Files.exists(snapshot));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("tasks.journal.old")));
+
+        OciTaskMemoryStore recovered = new OciTaskMemoryStore(4, journal, snapshot, 5, false);
+        recovered.start();
+
+        Assertions.assertEquals(6, recovered.size());
+        Assertions.assertEquals("task 5", recovered.findById(6L).get().getTitle());
+
+        store.stop();
+        recovered.stop();
+    }
+
+    @Test
+    public void testRecoverFromUnfinishedSnapshot() throws Exception {
+        Path journal = tempDir.resolve("tasks.journal");
+        Path snapshot = tempDir.resolve("tasks.snapshot");
+
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4, journal, snapshot, 0, false);
+        store.start();
+        store.save(newTask("task 0"));
+        store.save(newTask("task 1"));
+
+        // Simulate a crash after the journal was moved aside but before the snapshot was written.
+        Files.move(journal, tempDir.resolve("tasks.journal.old"));
+        store.save(newTask("task 2"));
+
+        OciTaskMemoryStore recovered = new OciTaskMemoryStore(4, journal, snapshot, 0, false);
+        recovered.start();
+
+        Assertions.assertEquals(3, recovered.size());
+
+        recovered.stop();
+
+        Assertions.assertFalse(Files.exists(tempDir.resolve("tasks.journal.old")));
+        Assertions.assertEquals(0L, Files.size(journal));
+    }
+
+    @Test
+    public void testDeletedIdsAreNotReusedAfterRestart() throws Exception {
+        Path journal = tempDir.resolve("tasks.journal");
+        Path snapshot = tempDir.resolve("tasks.snapshot");
+
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4, journal, snapshot, 0, false);
+        store.start();
+        for(int i = 0; i < 3; i++) {
+            store.save(newTask("task " + i));
+        }
+        store.delete(3L);
+        store.stop();
+
+        OciTaskMemoryStore recovered = new OciTaskMemoryStore(4, journal, snapshot, 0, false);
+        recovered.start();
+
+        Assertions.assertEquals(2, recovered.size());
+        Assertions.assertEquals(4L, recovered.save(newTask("task 3")).getId());
+
+        recovered.stop();
+    }
+
+    @Test
+    public void testRecoverFromCorruptJournalRecord() throws Exception {
+        Path journal = tempDir.resolve("tasks.journal");
+        Path snapshot = tempDir.resolve("tasks.snapshot");
+
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4, journal, snapshot, 0, false);
+        store.start();
+        store.save(newTask("task 0"));
+        store.save(newTask("task 1"));
+        long validLength = Files.size(journal);
+
+        // A garbage length must not be trusted for an allocation.
+        Files.write(journal, new byte[] { 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0, 0, 0, 0, 1 }, StandardOpenOption.APPEND);
+
+        OciTaskMemoryStore recovered = new OciTaskMemoryStore(4, journal, snapshot, 0, false);
+        recovered.start();
+
+        Assertions.assertEquals(2, recovered.size());
+        Assertions.assertEquals(validLength, Files.size(journal));
+        Assertions.assertEquals(3L, recovered.save(newTask("task 2")).getId());
+    }
+
+    private static OciTask newTask(String title) {
+        OciTask task = new OciTask();
+        task.setTitle(title);
+        task.setPriority(3);
+        task.setDueDate(new Date(5000L));
+        return task;
+    }
+
+}
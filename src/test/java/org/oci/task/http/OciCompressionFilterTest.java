@@ -0,0 +1,136 @@
+package org.oci.task.http;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.DataSize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oci.task.config.OciCompressionConfiguration;
+import org.oci.task.db.OciTaskMemoryStore;
+import org.oci.task.resources.OciTaskImporter;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @brief Unit Test helper for {@link OciCompressionFilter}
+ * @author rajeshkurup@live.com
+ */
+public class OciCompressionFilterTest {
+
+    @Test
+    public void testAcceptsGzip() {
+        Assertions.assertTrue(OciCompressionFilter.acceptsGzip("gzip"));
+        Assertions.assertTrue(OciCompressionFilter.acceptsGzip("deflate, GZIP;q=0.5"));
+        Assertions.assertTrue(OciCompressionFilter.acceptsGzip("br, *"));
+        Assertions.assertTrue(OciCompressionFilter.acceptsGzip("gzip ; q=1.0, *;q=0"));
+    }
+
+    @Test
+    public void testRejectsGzip() {
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip(null));
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip("identity"));
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip("gzip;q=0.000, *"));
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip("x-gzip"));
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip("*;q=0"));
+        Assertions.assertFalse(OciCompressionFilter.acceptsGzip("gzip;q=high"));
+    }
+
+    @Test
+    public void testInflateRequestWithinLimit() throws Exception {
+        byte[] body = new byte[4096];
+
+        byte[] inflated = readThroughFilter(gzip(body), 4096);
+
+        Assertions.assertEquals(4096, inflated.length);
+    }
+
+    @Test
+    public void testInflateRequestBeyondLimit() throws Exception {
+        byte[] bomb = gzip(new byte[1024 * 1024]);
+
+        WebApplicationException ex = Assertions.assertThrows(WebApplicationException.class,
+                () -> readThroughFilter(bomb, 64 * 1024));
+
+        Assertions.assertEquals(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), ex.getResponse().getStatus());
+    }
+
+    @Test
+    public void testStreamedImportBeyondLimit() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for(int i = 0; i < 2000; i++) {
+            body.append("{\"title\":\"task ").append(i).append("\",\"priority\":1}\n");
+        }
+        OciCompressionConfiguration config = new OciCompressionConfiguration();
+        config.setMaxInflatedRequestSize(DataSize.kibibytes(16));
+        OciCompressionFilter filter = new OciCompressionFilter(config, new MetricRegistry());
+
+        // Jersey hands an InputStream parameter the request stream as the entity.
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+        InputStream[] input = { new ByteArrayInputStream(gzip(body.toString().getBytes(StandardCharsets.UTF_8))) };
+        ReaderInterceptorContext context = Mockito.mock(ReaderInterceptorContext.class);
+        Mockito.when(context.getType()).thenAnswer(invocation -> InputStream.class);
+        Mockito.when(context.getHeaders()).thenReturn(headers);
+        Mockito.when(context.getInputStream()).thenAnswer(invocation -> input[0]);
+        Mockito.doAnswer(invocation -> input[0] = invocation.getArgument(0)).when(context).setInputStream(Mockito.any());
+        Mockito.when(context.proceed()).thenAnswer(invocation -> input[0]);
+
+        InputStream entity = (InputStream) filter.aroundReadFrom(context);
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        ByteArrayOutputStream progress = new ByteArrayOutputStream();
+        new OciTaskImporter(entity, store, Jackson.newObjectMapper(), 500, 1024).write(progress);
+
+        Assertions.assertTrue(body.length() > 4 * 16 * 1024);
+        Assertions.assertEquals(2000, store.size());
+        Assertions.assertFalse(progress.toString(StandardCharsets.UTF_8.name()).contains("\"aborted\":true"));
+    }
+
+    private static byte[] readThroughFilter(byte[] body, long limit) throws Exception {
+        OciCompressionConfiguration config = new OciCompressionConfiguration();
+        config.setMaxInflatedRequestSize(DataSize.bytes(limit));
+        OciCompressionFilter filter = new OciCompressionFilter(config, new MetricRegistry());
+
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+        InputStream[] input = { new ByteArrayInputStream(body) };
+        ReaderInterceptorContext context = Mockito.mock(ReaderInterceptorContext.class);
+        Mockito.when(context.getHeaders()).thenReturn(headers);
+        Mockito.when(context.getInputStream()).thenAnswer(invocation -> input[0]);
+        Mockito.doAnswer(invocation -> input[0] = invocation.getArgument(0)).when(context).setInputStream(Mockito.any());
+        Mockito.when(context.proceed()).thenAnswer(invocation -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while((n = input[0].read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        });
+
+        byte[] inflated = (byte[]) filter.aroundReadFrom(context);
+
+        Assertions.assertFalse(headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        return inflated;
+    }
+
+    private static byte[] gzip(byte[] body) throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try(GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+}
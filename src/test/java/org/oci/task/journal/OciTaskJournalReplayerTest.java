@@ -0,0 +1,98 @@
+package org.oci.task.journal;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskMemoryStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskJournalReplayer}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskJournalReplayerTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private static final String CONFLICTS = MetricRegistry.name(OciTaskJournalReplayer.class, "conflicts");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReplayAfterCrashBeforeCheckpoint() throws IOException {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        OciTaskJournalApplier applier = new OciTaskJournalApplier(store);
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+        OciTaskJournalStore writer = new OciTaskJournalStore(journal, applier::leaseIds, 100);
+
+        long first = writer.save(newTask("task 1")).getId();
+        long second = writer.save(newTask("task 2")).getId();
+        OciTask update = newTask("task 1 updated");
+        update.setId(first);
+        writer.save(update);
+
+        // The batch of both creates commits, then the process dies before the checkpoint is written.
+        applier.apply(journal.read(journal.getCheckpoint(), 2).getEntries());
+        journal.close();
+
+        OciTaskJournal reopened = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        reopened.open();
+        MetricRegistry metrics = new MetricRegistry();
+        OciTaskJournalReplayer replayer = new OciTaskJournalReplayer(reopened, applier, 10, 1000L, metrics);
+        replayer.drainAll();
+
+        Assertions.assertNotEquals(0L, first);
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertEquals("task 1 updated", store.findById(first).get().getTitle());
+        Assertions.assertEquals("task 2", store.findById(second).get().getTitle());
+        Assertions.assertEquals(0L, reopened.getBacklog());
+        Assertions.assertEquals(0L, metrics.counter(CONFLICTS).getCount());
+
+        reopened.close();
+    }
+
+    @Test
+    public void testCreateConflictingWithDifferentTask() throws IOException {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+        OciTaskJournalApplier applier = new OciTaskJournalApplier(store);
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+
+        // Another writer took the id the journal assigned.
+        OciTask other = newTask("other task");
+        other.setId(7L);
+        store.createWithId(other);
+        OciTask created = newTask("journaled task");
+        created.setId(7L);
+        journal.append(OciTaskJournalEntry.create(created));
+        OciTask next = newTask("next task");
+        next.setId(8L);
+        journal.append(OciTaskJournalEntry.create(next));
+
+        MetricRegistry metrics = new MetricRegistry();
+        OciTaskJournalReplayer replayer = new OciTaskJournalReplayer(journal, applier, 10, 1000L, metrics);
+        replayer.drainAll();
+
+        Assertions.assertEquals(1L, metrics.counter(CONFLICTS).getCount());
+        Assertions.assertEquals("other task", store.findById(7L).get().getTitle());
+        Assertions.assertEquals("next task", store.findById(8L).get().getTitle());
+        Assertions.assertEquals(0L, journal.getBacklog());
+
+        journal.close();
+    }
+
+    private static OciTask newTask(String title) {
+        OciTask task = new OciTask();
+        task.setTitle(title);
+        task.setPriority(2);
+        return task;
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.oci.task.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oci.task.core.OciTask;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskJournalStore}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskJournalStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testInstancesSharingLeaseNeverAssignSameId() throws IOException {
+        // Stands in for the database row both instances lease from.
+        AtomicLong nextId = new AtomicLong(1);
+        IntToLongFunction lease = count -> nextId.getAndAdd(count);
+
+        OciTaskJournal firstJournal = new OciTaskJournal(tempDir.resolve("first"), SEGMENT_SIZE, false);
+        OciTaskJournal secondJournal = new OciTaskJournal(tempDir.resolve("second"), SEGMENT_SIZE, false);
+        firstJournal.open();
+        secondJournal.open();
+        OciTaskJournalStore first = new OciTaskJournalStore(firstJournal, lease, 3);
+        OciTaskJournalStore second = new OciTaskJournalStore(secondJournal, lease, 3);
+
+        Set<Long> ids = new HashSet<Long>();
+        for(int i = 0; i < 10; i++) {
+            Assertions.assertTrue(ids.add(first.save(newTask("first " + i)).getId()));
+            Assertions.assertTrue(ids.add(second.save(newTask("second " + i)).getId()));
+        }
+
+        // Each instance used four blocks of three.
+        Assertions.assertEquals(20, ids.size());
+        Assertions.assertEquals(25L, nextId.get());
+
+        firstJournal.close();
+        secondJournal.close();
+    }
+
+    @Test
+    public void testIdsAreNotReusedAfterRestart() throws IOException {
+        AtomicLong nextId = new AtomicLong(1);
+        IntToLongFunction lease = count -> nextId.getAndAdd(count);
+
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+        long before = new OciTaskJournalStore(journal, lease, 100).save(newTask("task 1")).getId();
+        journal.close();
+
+        OciTaskJournal reopened = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        reopened.open();
+        long after = new OciTaskJournalStore(reopened, lease, 100).save(newTask("task 2")).getId();
+
+        Assertions.assertEquals(1L, before);
+        Assertions.assertEquals(101L, after);
+
+        reopened.close();
+    }
+
+    @Test
+    public void testSaveAllAppendsChunk() throws IOException {
+        AtomicLong nextId = new AtomicLong(1);
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, true);
+        journal.open();
+        OciTaskJournalStore store = new OciTaskJournalStore(journal, count -> nextId.getAndAdd(count), 100);
+
+        List<OciTask> chunk = new ArrayList<OciTask>();
+        for(int i = 0; i < 200; i++) {
+            chunk.add(newTask("task " + i));
+        }
+        store.saveAll(chunk);
+
+        List<OciTaskJournalEntry> entries = journal.read(journal.getCheckpoint(), 500).getEntries();
+
+        Assertions.assertEquals(200, entries.size());
+        for(int i = 0; i < 200; i++) {
+            Assertions.assertEquals(OciTaskJournalEntry.Operation.CREATE, entries.get(i).getOperation());
+            Assertions.assertEquals(i + 1, entries.get(i).getTaskId());
+            Assertions.assertEquals("task " + i, entries.get(i).toTask().getTitle());
+        }
+
+        journal.close();
+    }
+
+    private static OciTask newTask(String title) {
+        OciTask task = new OciTask();
+        task.setTitle(title);
+        task.setPriority(2);
+        return task;
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.oci.task.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oci.task.core.OciTask;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.stream.Stream;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskJournal}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    private long nextId = 1;
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+
+        OciTask task = newTask("test task");
+        task.setId(1001L);
+        task.setDueDate(new Date(5000L));
+        journal.append(OciTaskJournalEntry.create(newTask("new task")));
+        journal.append(OciTaskJournalEntry.update(task));
+        journal.append(OciTaskJournalEntry.delete(1002L));
+
+        OciTaskJournal.Batch batch = journal.read(journal.getCheckpoint(), 10);
+
+        Assertions.assertEquals(3, batch.getEntries().size());
+        Assertions.assertEquals(OciTaskJournalEntry.Operation.CREATE, batch.getEntries().get(0).getOperation());
+        Assertions.assertEquals(OciTaskJournalEntry.Operation.UPDATE, batch.getEntries().get(1).getOperation());
+        Assertions.assertEquals(OciTaskJournalEntry.Operation.DELETE, batch.getEntries().get(2).getOperation());
+        Assertions.assertEquals(1002L, batch.getEntries().get(2).getTaskId());
+        Assertions.assertEquals(journal.getEndOffset(), batch.getEndOffset(2));
+
+        OciTask replayed = batch.getEntries().get(1).toTask();
+        Assertions.assertEquals(1001L, replayed.getId());
+        Assertions.assertEquals("test task", replayed.getTitle());
+        Assertions.assertEquals(new Date(5000L), replayed.getDueDate());
+        Assertions.assertNull(replayed.getStartDate());
+
+        journal.close();
+    }
+
+    @Test
+    public void testRollAndCheckpoint() throws IOException {
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+        for(int i = 0; i < 200; i++) {
+            journal.append(OciTaskJournalEntry.create(newTask("task " + i)));
+        }
+
+        Assertions.assertTrue(segmentCount() > 1);
+
+        OciTaskJournal.Batch batch = journal.read(journal.getCheckpoint(), 150);
+        Assertions.assertEquals(150, batch.getEntries().size());
+        Assertions.assertEquals("task 149", batch.getEntries().get(149).toTask().getTitle());
+
+        journal.checkpoint(batch.getEndOffset(149));
+        journal.close();
+
+        OciTaskJournal reopened = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        reopened.open();
+        OciTaskJournal.Batch rest = reopened.read(reopened.getCheckpoint(), 500);
+
+        Assertions.assertEquals(50, rest.getEntries().size());
+        Assertions.assertEquals("task 150", rest.getEntries().get(0).toTask().getTitle());
+        Assertions.assertTrue(segmentCount() < 5);
+
+        reopened.close();
+    }
+
+    @Test
+    public void testRecoverAfterTornWrite() throws IOException {
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+        journal.append(OciTaskJournalEntry.create(newTask("task 1")));
+        long end = journal.append(OciTaskJournalEntry.create(newTask("task 2")));
+        journal.close();
+
+        // Simulate a crash in the middle of the next append: a length without a valid payload.
+        try(RandomAccessFile file = new RandomAccessFile(lastSegment().toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(40);
+            file.writeInt(12345);
+            file.writeLong(99L);
+        }
+
+        OciTaskJournal reopened = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        reopened.open();
+
+        Assertions.assertEquals(end, reopened.getEndOffset());
+
+        reopened.append(OciTaskJournalEntry.create(newTask("task 3")));
+        OciTaskJournal.Batch batch = reopened.read(reopened.getCheckpoint(), 10);
+
+        Assertions.assertEquals(3, batch.getEntries().size());
+        Assertions.assertEquals("task 3", batch.getEntries().get(2).toTask().getTitle());
+
+        reopened.close();
+    }
+
+    @Test
+    public void testRecoverFromLostCheckpoint() throws IOException {
+        OciTaskJournal journal = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        journal.open();
+        for(int i = 0; i < 200; i++) {
+            journal.append(OciTaskJournalEntry.create(newTask("task " + i)));
+        }
+        OciTaskJournal.Batch batch = journal.read(journal.getCheckpoint(), 150);
+        journal.checkpoint(batch.getEndOffset(149));
+        journal.close();
+
+        // Simulate losing the checkpoint write after the segments before it were deleted.
+        Files.write(tempDir.resolve("checkpoint"), ByteBuffer.allocate(8).putLong(0L).array());
+
+        OciTaskJournal reopened = new OciTaskJournal(tempDir, SEGMENT_SIZE, false);
+        reopened.open();
+        OciTaskJournal.Batch rest = reopened.read(reopened.getCheckpoint(), 500);
+
+        Assertions.assertTrue(reopened.getCheckpoint() > 0);
+        Assertions.assertEquals("task 199", rest.getEntries().get(rest.getEntries().size() - 1).toTask().getTitle());
+        Assertions.assertFalse(Files.exists(tempDir.resolve("checkpoint.tmp")));
+
+        reopened.close();
+    }
+
+    private long segmentCount() throws IOException {
+        try(Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).count();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try(Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).sorted().reduce((first, second) -> second).get();
+        }
+    }
+
+    private OciTask newTask(String title) {
+        OciTask task = new OciTask();
+        task.setId(nextId++);
+        task.setTitle(title);
+        task.setPriority(2);
+        return task;
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.oci.task.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @brief Unit Test helper for {@link OciErrorRateLimitFilter}
+ * @author rajeshkurup@live.com
+ */
+public class OciErrorRateLimitFilterTest {
+
+    private final Logger logger = new LoggerContext().getLogger(OciErrorRateLimitFilterTest.class);
+
+    @Test
+    public void testSuppressWithinWindow() {
+        OciErrorRateLimitFilter filter = new OciErrorRateLimitFilter(2, 60000L);
+        IllegalStateException error = new IllegalStateException("failed");
+
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, "Load failed - id={}", error));
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, "Load failed - id={}", error));
+        Assertions.assertEquals(FilterReply.DENY, decide(filter, Level.ERROR, "Load failed - id={}", error));
+        Assertions.assertEquals(FilterReply.DENY, decide(filter, Level.ERROR, "Load failed - id={}", error));
+
+        // Another exception type, another template or a level below WARN is a different event.
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, "Load failed - id={}", null));
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.WARN, "Save failed - id={}", error));
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.INFO, "Load failed - id={}", error));
+        Assertions.assertEquals(2L, filter.getSuppressedCount());
+    }
+
+    @Test
+    public void testNewWindowLetsEventsThrough() throws InterruptedException {
+        OciErrorRateLimitFilter filter = new OciErrorRateLimitFilter(1, 20L);
+
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.WARN, "Slow query", null));
+        Assertions.assertEquals(FilterReply.DENY, decide(filter, Level.WARN, "Slow query", null));
+        Thread.sleep(50L);
+
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.WARN, "Slow query", null));
+        Assertions.assertEquals(1L, filter.getSuppressedCount());
+    }
+
+    @Test
+    public void testResetAfterMaxKeys() {
+        OciErrorRateLimitFilter filter = new OciErrorRateLimitFilter(1, 60000L);
+
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, "Load failed", null));
+        Assertions.assertEquals(FilterReply.DENY, decide(filter, Level.ERROR, "Load failed", null));
+        for(int i = 0; i < 1024; i++) {
+            Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, "Failure " + i, null));
+        }
+
+        // 1025 keys are tracked, so the next event clears them and starts over.
+        Assertions.assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, "Load failed", null));
+        Assertions.assertEquals(FilterReply.DENY, decide(filter, Level.ERROR, "Load failed", null));
+        Assertions.assertEquals(2L, filter.getSuppressedCount());
+    }
+
+    private FilterReply decide(OciErrorRateLimitFilter filter, Level level, String format, Throwable t) {
+        return filter.decide(null, logger, level, format, null, t);
+    }
+
+}
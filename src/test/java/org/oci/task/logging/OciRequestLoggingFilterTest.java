@@ -0,0 +1,133 @@
+package org.oci.task.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oci.task.resources.OciTaskResource;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @brief Unit Test helper for {@link OciRequestLoggingFilter}
+ * @author rajeshkurup@live.com
+ */
+public class OciRequestLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(OciRequestLoggingFilter.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<ILoggingEvent>();
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+        MDC.clear();
+    }
+
+    @Test
+    public void testRequestWithTaskId() throws Exception {
+        OciRequestLoggingFilter filter = newFilter(OciTaskResource.class.getMethod("getTask", long.class));
+        MultivaluedMap<String, String> pathParameters = new MultivaluedHashMap<String, String>();
+        pathParameters.putSingle("id", "42");
+        ContainerRequestContext request = newRequest(pathParameters);
+
+        MDC.put("stale", "left by another request");
+        filter.filter(request);
+
+        Assertions.assertNull(MDC.get("stale"));
+        Assertions.assertEquals("getTask", MDC.get(OciRequestLoggingFilter.MDC_ENDPOINT));
+        Assertions.assertEquals("42", MDC.get(OciRequestLoggingFilter.MDC_TASK_ID));
+
+        filter.filter(request, newResponse(200));
+
+        List<ILoggingEvent> events = appender.list;
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals("Request completed - status=200", events.get(0).getFormattedMessage());
+        Map<String, String> fields = events.get(0).getMDCPropertyMap();
+        Assertions.assertEquals("getTask", fields.get(OciRequestLoggingFilter.MDC_ENDPOINT));
+        Assertions.assertEquals("42", fields.get(OciRequestLoggingFilter.MDC_TASK_ID));
+        Assertions.assertTrue(Long.parseLong(fields.get(OciRequestLoggingFilter.MDC_LATENCY)) >= 0);
+        Assertions.assertNull(MDC.get(OciRequestLoggingFilter.MDC_ENDPOINT));
+    }
+
+    @Test
+    public void testRequestWithoutTaskId() throws Exception {
+        OciRequestLoggingFilter filter = newFilter(OciTaskResource.class.getMethod("getTaskStats"));
+        ContainerRequestContext request = newRequest(new MultivaluedHashMap<String, String>());
+
+        filter.filter(request);
+        filter.filter(request, newResponse(204));
+
+        Assertions.assertEquals(1, appender.list.size());
+        Map<String, String> fields = appender.list.get(0).getMDCPropertyMap();
+        Assertions.assertEquals("getTaskStats", fields.get(OciRequestLoggingFilter.MDC_ENDPOINT));
+        Assertions.assertFalse(fields.containsKey(OciRequestLoggingFilter.MDC_TASK_ID));
+        Assertions.assertTrue(fields.containsKey(OciRequestLoggingFilter.MDC_LATENCY));
+    }
+
+    @Test
+    public void testResponseWithoutRequestLogsNothing() {
+        OciRequestLoggingFilter filter = new OciRequestLoggingFilter();
+        ContainerRequestContext request = newRequest(new MultivaluedHashMap<String, String>());
+        MDC.put(OciRequestLoggingFilter.MDC_ENDPOINT, "getTask");
+
+        // A request rejected before matching reaches only the response filter.
+        filter.filter(request, newResponse(404));
+
+        Assertions.assertTrue(appender.list.isEmpty());
+        Assertions.assertNull(MDC.get(OciRequestLoggingFilter.MDC_ENDPOINT));
+    }
+
+    private static OciRequestLoggingFilter newFilter(Method resourceMethod) throws Exception {
+        ResourceInfo resourceInfo = Mockito.mock(ResourceInfo.class);
+        Mockito.when(resourceInfo.getResourceMethod()).thenReturn(resourceMethod);
+        OciRequestLoggingFilter filter = new OciRequestLoggingFilter();
+        // Stands in for the @Context injection done by Jersey.
+        Field field = OciRequestLoggingFilter.class.getDeclaredField("resourceInfo");
+        field.setAccessible(true);
+        field.set(filter, resourceInfo);
+        return filter;
+    }
+
+    private static ContainerRequestContext newRequest(MultivaluedMap<String, String> pathParameters) {
+        UriInfo uriInfo = Mockito.mock(UriInfo.class);
+        Mockito.when(uriInfo.getPathParameters()).thenReturn(pathParameters);
+        Map<String, Object> properties = new HashMap<String, Object>();
+        ContainerRequestContext request = Mockito.mock(ContainerRequestContext.class);
+        Mockito.when(request.getUriInfo()).thenReturn(uriInfo);
+        Mockito.when(request.getProperty(Mockito.anyString()))
+                .thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+        Mockito.doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setProperty(Mockito.anyString(), Mockito.any());
+        return request;
+    }
+
+    private static ContainerResponseContext newResponse(int status) {
+        ContainerResponseContext response = Mockito.mock(ContainerResponseContext.class);
+        Mockito.when(response.getStatus()).thenReturn(status);
+        return response;
+    }
+
+}
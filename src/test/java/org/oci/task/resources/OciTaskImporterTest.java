@@ -0,0 +1,118 @@
+package org.oci.task.resources;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskMemoryStore;
+import org.oci.task.db.OciTaskStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskImporter}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskImporterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String BODY = "{\"title\":\"task 1\",\"priority\":1}\n"
+            + "{\"title\":\" \"}\n"
+            + "\n"
+            + "{\"title\":\"task 2\",\"dueDate\":\"2023-01-02\"}\n"
+            + "not json\n"
+            + "{\"title\":\"task 3\",\"completed\":true}\n";
+
+    @Test
+    public void testImportTasks() throws Exception {
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+
+        List<JsonNode> progress = runImport(BODY.getBytes(StandardCharsets.UTF_8), store, 2);
+
+        Assertions.assertEquals(3, store.size());
+        Assertions.assertEquals(4, progress.size());
+
+        Assertions.assertEquals(1, progress.get(0).get("imported").asInt());
+        Assertions.assertEquals(1, progress.get(0).get("failed").asInt());
+        Assertions.assertEquals(2, progress.get(0).get("errors").get(0).get("line").asInt());
+        Assertions.assertEquals(3, progress.get(1).get("firstLine").asInt());
+        Assertions.assertEquals(5, progress.get(1).get("errors").get(0).get("line").asInt());
+
+        JsonNode summary = progress.get(3);
+        Assertions.assertTrue(summary.get("done").asBoolean());
+        Assertions.assertEquals(3, summary.get("totalImported").asInt());
+        Assertions.assertEquals(2, summary.get("totalFailed").asInt());
+    }
+
+    @Test
+    public void testImportGzipTasks() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try(GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+
+        List<JsonNode> progress = runImport(compressed.toByteArray(), store, 1000);
+
+        Assertions.assertEquals(3, store.size());
+        Assertions.assertEquals(2, progress.size());
+        Assertions.assertTrue(progress.get(1).get("done").asBoolean());
+    }
+
+    @Test
+    public void testImportRejectsLongLines() throws Exception {
+        StringBuilder longTitle = new StringBuilder();
+        for(int i = 0; i < 100000; i++) {
+            longTitle.append('x');
+        }
+        String body = "{\"title\":\"task 1\"}\r\n"
+                + "{\"title\":\"" + longTitle + "\"}\n"
+                + "{\"title\":\"task 2\"}";
+        OciTaskMemoryStore store = new OciTaskMemoryStore(4);
+
+        List<JsonNode> progress = runImport(body.getBytes(StandardCharsets.UTF_8), store, 1000, 64);
+
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertEquals(1, progress.get(0).get("failed").asInt());
+        Assertions.assertEquals(2, progress.get(0).get("errors").get(0).get("line").asInt());
+        Assertions.assertTrue(progress.get(1).get("done").asBoolean());
+    }
+
+    @Test
+    public void testImportAbortsOnStorageFailure() throws Exception {
+        OciTaskStore storeMock = Mockito.mock(OciTaskStore.class);
+        Mockito.doThrow(new RuntimeException("database unavailable")).when(storeMock).saveAll(Mockito.<List<OciTask>>any());
+
+        List<JsonNode> progress = runImport(BODY.getBytes(StandardCharsets.UTF_8), storeMock, 2);
+
+        Assertions.assertEquals(1, progress.size());
+        Assertions.assertTrue(progress.get(0).get("aborted").asBoolean());
+        Assertions.assertEquals(1, progress.get(0).get("firstLine").asInt());
+        Assertions.assertEquals(0, progress.get(0).get("totalImported").asInt());
+    }
+
+    private static List<JsonNode> runImport(byte[] body, OciTaskStore store, int chunkSize) throws Exception {
+        return runImport(body, store, chunkSize, 1024);
+    }
+
+    private static List<JsonNode> runImport(byte[] body, OciTaskStore store, int chunkSize, int maxLineLength) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new OciTaskImporter(new ByteArrayInputStream(body), store, Jackson.newObjectMapper(), chunkSize, maxLineLength).write(output);
+
+        List<JsonNode> lines = new ArrayList<JsonNode>();
+        for(String line : output.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            lines.add(MAPPER.readTree(line));
+        }
+        return lines;
+    }
+
+}
@@ -1,19 +1,35 @@
 package org.oci.task.resources;
 
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.oci.task.api.OciTaskBatchGetRequest;
 import org.oci.task.api.OciTaskServRequest;
 import org.oci.task.api.OciTaskServResponse;
+import org.oci.task.config.OciBulkConfiguration;
 import org.oci.task.core.OciTask;
 import org.oci.task.db.OciTaskDao;
+import org.oci.task.db.OciTaskStore;
 import org.oci.task.error.OciError;
 import org.oci.task.error.OciErrorCode;
+import org.oci.task.journal.OciTaskJournal;
+import org.oci.task.journal.OciTaskJournalEntry;
+import org.oci.task.journal.OciTaskJournalStore;
+import org.oci.task.stats.OciTaskStatsTracker;
 
 import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -25,6 +41,9 @@ import java.util.Optional;
 @ExtendWith(DropwizardExtensionsSupport.class)
 public class OciTaskResourceTest {
 
+    @TempDir
+    Path tempDir;
+
     private static final OciTaskDao ociTaskDaoMock = Mockito.mock(OciTaskDao.class);
 
     private static final OciTaskResource resource = new OciTaskResource(ociTaskDaoMock);
@@ -38,7 +57,7 @@ public class OciTaskResourceTest {
 
         Mockito.when(ociTaskDaoMock.findAll()).thenReturn(tasks);
 
-        Response response = resource.listTasks();
+        Response response = resource.listTasks(null, false);
 
         OciTaskServResponse resp = (OciTaskServResponse)response.getEntity();
 
@@ -55,7 +74,7 @@ public class OciTaskResourceTest {
 
         Mockito.when(ociTaskDaoMock.findAll()).thenThrow(new RuntimeException("failed"));
 
-        Response response = resource.listTasks();
+        Response response = resource.listTasks(null, false);
 
         OciTaskServResponse apiResp = (OciTaskServResponse)response.getEntity();
 
@@ -106,6 +125,26 @@ public class OciTaskResourceTest {
         Mockito.verify(ociTaskDaoMock, Mockito.atLeastOnce()).findById(Mockito.eq(1001L));
     }
 
+    @Test
+    public void testGetTaskFromArchive() {
+        OciTask task = new OciTask();
+        task.setId(1005L);
+        task.setTitle("archived task");
+
+        Mockito.when(ociTaskDaoMock.findById(Mockito.eq(1005L))).thenReturn(Optional.empty());
+        Mockito.when(ociTaskDaoMock.findArchivedByIds(Mockito.eq(Collections.singletonList(1005L))))
+                .thenReturn(Collections.singletonList(task));
+
+        Response response = resource.getTask(1005L);
+
+        OciTaskServResponse apiResp = (OciTaskServResponse)response.getEntity();
+
+        Assertions.assertNull(apiResp.getError());
+        Assertions.assertEquals("archived task", apiResp.getTask().getTitle());
+
+        Mockito.verify(ociTaskDaoMock, Mockito.atLeastOnce()).findArchivedByIds(Mockito.eq(Collections.singletonList(1005L)));
+    }
+
     @Test
     public void testGetTaskFailed() {
         Mockito.when(ociTaskDaoMock.findById(Mockito.eq(1001L))).thenThrow(new RuntimeException("failed"));
@@ -133,6 +172,75 @@ public class OciTaskResourceTest {
         Mockito.verify(ociTaskDaoMock, Mockito.atLeastOnce()).delete(Mockito.eq(1001L));
     }
 
+    @Test
+    public void testDeleteArchivedTask() {
+        OciTask task = new OciTask();
+        task.setId(1006L);
+        task.setTitle("archived task");
+
+        Mockito.when(ociTaskDaoMock.findById(Mockito.eq(1006L))).thenReturn(Optional.empty());
+        Mockito.when(ociTaskDaoMock.findArchivedByIds(Mockito.eq(Collections.singletonList(1006L))))
+                .thenReturn(Collections.singletonList(task));
+        Mockito.doAnswer(invocation -> {
+            Mockito.when(ociTaskDaoMock.findArchivedByIds(Mockito.eq(Collections.singletonList(1006L))))
+                    .thenReturn(Collections.<OciTask>emptyList());
+            return null;
+        }).when(ociTaskDaoMock).delete(Mockito.eq(1006L));
+
+        Response response = resource.deleteTask(1006L);
+
+        Assertions.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        Assertions.assertNull(((OciTaskServResponse)response.getEntity()).getError());
+
+        response = resource.getTask(1006L);
+
+        OciTaskServResponse apiResp = (OciTaskServResponse)response.getEntity();
+
+        Assertions.assertNull(apiResp.getError());
+        Assertions.assertNull(apiResp.getTask());
+
+        Mockito.verify(ociTaskDaoMock, Mockito.atLeastOnce()).delete(Mockito.eq(1006L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateArchivedTask() {
+        OciTask task = new OciTask();
+        task.setId(1007L);
+        task.setTitle("archived task");
+        task.setCompleted(true);
+
+        SessionFactory sessionFactoryMock = Mockito.mock(SessionFactory.class);
+        Session sessionMock = Mockito.mock(Session.class);
+        NativeQuery<Object> queryMock = Mockito.mock(NativeQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(sessionFactoryMock.getCurrentSession()).thenReturn(sessionMock);
+        // The Task is only live once it has been moved back from the archive.
+        Mockito.when(sessionMock.get(OciTask.class, 1007L)).thenReturn(null, task);
+        Mockito.when(sessionMock.createNativeQuery(Mockito.anyString())).thenReturn(queryMock);
+        Mockito.when(queryMock.executeUpdate()).thenReturn(1);
+
+        OciTaskServRequest ociTask = new OciTaskServRequest();
+        ociTask.setTitle("reopened task");
+        ociTask.setCompleted(false);
+
+        Response response = new OciTaskResource(ociTaskDaoMock, new OciTaskDao(sessionFactoryMock, 0, true))
+                .updateTask(1007L, ociTask);
+
+        OciTaskServResponse apiResp = (OciTaskServResponse)response.getEntity();
+
+        Assertions.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        Assertions.assertNull(apiResp.getError());
+        Assertions.assertEquals(1007L, apiResp.getTaskId());
+        Assertions.assertEquals("reopened task", task.getTitle());
+        Assertions.assertFalse(task.isCompleted());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(sessionMock, Mockito.times(2)).createNativeQuery(sql.capture());
+        Assertions.assertTrue(sql.getAllValues().get(0).startsWith("INSERT INTO " + OciTask.TABLE_NAME + " "));
+        Assertions.assertTrue(sql.getAllValues().get(0).contains("FROM " + OciTask.ARCHIVE_TABLE_NAME + " WHERE ID"));
+        Assertions.assertTrue(sql.getAllValues().get(1).startsWith("DELETE FROM " + OciTask.ARCHIVE_TABLE_NAME));
+    }
+
     @Test
     public void testDeleteTaskFailed() {
         Mockito.doThrow(new RuntimeException("failed")).when(ociTaskDaoMock).delete(Mockito.eq(1001L));
@@ -272,4 +380,103 @@ public class OciTaskResourceTest {
         Mockito.verify(ociTaskDaoMock, Mockito.atLeastOnce()).save(Mockito.any(OciTask.class));
     }
 
+    @Test
+    public void testCreateTaskDeferred() throws IOException {
+        OciTaskJournal journal = new OciTaskJournal(tempDir, 4096, false);
+        journal.open();
+
+        OciTaskServRequest ociTask = new OciTaskServRequest();
+        ociTask.setTitle("test task");
+
+        Response response = new OciTaskResource(ociTaskDaoMock, new OciTaskJournalStore(journal, count -> 1L, 100))
+                .createTask(ociTask);
+
+        OciTaskServResponse apiResp = (OciTaskServResponse)response.getEntity();
+
+        Assertions.assertEquals(Response.Status.ACCEPTED.getStatusCode(), response.getStatus());
+        Assertions.assertNull(apiResp.getError());
+        Assertions.assertEquals(1L, apiResp.getTaskId());
+
+        OciTaskJournalEntry entry = journal.read(journal.getCheckpoint(), 10).getEntries().get(0);
+        Assertions.assertEquals(OciTaskJournalEntry.Operation.CREATE, entry.getOperation());
+        Assertions.assertEquals(1L, entry.getTaskId());
+
+        journal.close();
+    }
+
+    @Test
+    public void testDeleteTaskDeferred() {
+        OciTaskStore writerMock = Mockito.mock(OciTaskStore.class);
+        Mockito.when(writerMock.isDeferred()).thenReturn(true);
+
+        Response response = new OciTaskResource(ociTaskDaoMock, writerMock).deleteTask(1001L);
+
+        Assertions.assertEquals(Response.Status.ACCEPTED.getStatusCode(), response.getStatus());
+
+        Mockito.verify(writerMock, Mockito.atLeastOnce()).delete(Mockito.eq(1001L));
+    }
+
+    @Test
+    public void testGetTaskStats() {
+        OciTaskStatsTracker tracker = new OciTaskStatsTracker();
+        OciTask ociTask = new OciTask();
+        ociTask.setPriority(2);
+        tracker.onCreate(OciTaskStatsTracker.State.of(ociTask));
+
+        Response response = new OciTaskResource(ociTaskDaoMock, ociTaskDaoMock, tracker).getTaskStats();
+
+        Assertions.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        OciTaskServResponse ociResponse = (OciTaskServResponse)response.getEntity();
+        Assertions.assertEquals(1, ociResponse.getStats().getTotal());
+        Assertions.assertEquals(1, ociResponse.getStats().getOpen());
+        Assertions.assertEquals(Long.valueOf(1), ociResponse.getStats().getByPriority().get(2));
+    }
+
+    @Test
+    public void testGetTasksByIds() {
+        OciTask ociTask = new OciTask();
+        ociTask.setId(1001L);
+        ociTask.setTitle("test task");
+        Mockito.when(ociTaskDaoMock.findByIds(Mockito.eq(Arrays.asList(1001L, 1002L)))).thenReturn(Arrays.asList(ociTask, null));
+
+        Response response = resource.listTasks("1001, 1002", false);
+
+        Assertions.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        OciTaskServResponse ociResponse = (OciTaskServResponse)response.getEntity();
+        Assertions.assertEquals(2, ociResponse.getResults().size());
+        Assertions.assertEquals("test task", ociResponse.getResults().get(0).getTask().getTitle());
+        Assertions.assertNull(ociResponse.getResults().get(0).getError());
+        Assertions.assertEquals(1002L, ociResponse.getResults().get(1).getTaskId());
+        Assertions.assertNull(ociResponse.getResults().get(1).getTask());
+        Assertions.assertEquals(OciErrorCode.NO_DATA_FOUND, ociResponse.getResults().get(1).getError().getErrorCode());
+    }
+
+    @Test
+    public void testGetTasksByIdsFailedInvalidId() {
+        Response response = resource.listTasks("1001,abc", false);
+
+        Assertions.assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        OciTaskServResponse ociResponse = (OciTaskServResponse)response.getEntity();
+        Assertions.assertEquals(OciErrorCode.INVALID_ARGUMENT, ociResponse.getError().getErrorCode());
+    }
+
+    @Test
+    public void testBatchGetTasksFailedTooManyIds() {
+        OciBulkConfiguration bulkConfig = new OciBulkConfiguration();
+        bulkConfig.setMaxBatchGetIds(2);
+        OciTaskBatchGetRequest request = new OciTaskBatchGetRequest();
+        request.setIds(Arrays.asList(1L, 2L, 3L));
+
+        Response response = new OciTaskResource(ociTaskDaoMock, ociTaskDaoMock, new OciTaskStatsTracker(), bulkConfig)
+                .batchGetTasks(request);
+
+        Assertions.assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        OciTaskServResponse ociResponse = (OciTaskServResponse)response.getEntity();
+        Assertions.assertEquals(OciErrorCode.INVALID_ARGUMENT, ociResponse.getError().getErrorCode());
+    }
+
 }
@@ -0,0 +1,58 @@
+package org.oci.task.startup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.server.Server;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @brief Unit Test helper for {@link OciStartupTimer}
+ * @author rajeshkurup@live.com
+ */
+public class OciStartupTimerTest {
+
+    @Test
+    public void testGaugePerPhase() {
+        OciStartupTimer startupTimer = new OciStartupTimer();
+        MetricRegistry metrics = new MetricRegistry();
+
+        // Phases of the application, recorded before and after the registry exists.
+        startupTimer.record("hibernate", 30L);
+        startupTimer.record("swagger", 20L);
+        startupTimer.record("initialize", 900L);
+        startupTimer.bind(metrics);
+        startupTimer.record("run", 150L);
+        startupTimer.record("warmup", 400L);
+        startupTimer.serverStarted(new Server());
+
+        Assertions.assertEquals(30L, gauge(metrics, "hibernate").getValue());
+        Assertions.assertEquals(20L, gauge(metrics, "swagger").getValue());
+        Assertions.assertEquals(900L, gauge(metrics, "initialize").getValue());
+        Assertions.assertEquals(150L, gauge(metrics, "run").getValue());
+        Assertions.assertEquals(400L, gauge(metrics, "warmup").getValue());
+        Assertions.assertTrue(gauge(metrics, "ready").getValue() > 0L);
+        Assertions.assertEquals(6, metrics.getGauges().size());
+    }
+
+    @Test
+    public void testRecordPhaseAgain() {
+        OciStartupTimer startupTimer = new OciStartupTimer();
+        MetricRegistry metrics = new MetricRegistry();
+        startupTimer.bind(metrics);
+
+        startupTimer.record("warmup", 400L);
+        startupTimer.record("warmup", 250L);
+
+        Assertions.assertEquals(250L, gauge(metrics, "warmup").getValue());
+        Assertions.assertEquals(1, metrics.getGauges().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Gauge<Long> gauge(MetricRegistry metrics, String phase) {
+        Gauge<Long> gauge = metrics.getGauges().get(MetricRegistry.name(OciStartupTimer.class, phase + "-millis"));
+        Assertions.assertNotNull(gauge, phase);
+        return gauge;
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.oci.task.startup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oci.task.db.OciTaskMemoryStore;
+import org.oci.task.db.OciTaskReader;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @brief Unit Test helper for {@link OciWarmup}
+ * @author rajeshkurup@live.com
+ */
+public class OciWarmupTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(OciWarmup.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<ILoggingEvent>();
+
+    private final List<ObjectMapper> mappers = Collections.singletonList(Jackson.newObjectMapper());
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void testRunsBeforeConnectorsOpen() throws Exception {
+        Server server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setHost("127.0.0.1");
+        connector.setPort(0);
+        server.addConnector(connector);
+
+        List<Boolean> openDuringWarmup = Collections.synchronizedList(new ArrayList<Boolean>());
+        OciTaskReader ociTaskStore = Mockito.mock(OciTaskReader.class);
+        Mockito.when(ociTaskStore.scan(Mockito.anyLong(), Mockito.anyInt())).thenAnswer(invocation -> {
+            openDuringWarmup.add(connector.isOpen());
+            return Collections.emptyList();
+        });
+        Mockito.when(ociTaskStore.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+
+        // Wired as in the application.
+        OciStartupTimer startupTimer = new OciStartupTimer();
+        MetricRegistry metrics = new MetricRegistry();
+        startupTimer.bind(metrics);
+        LifecycleEnvironment lifecycle = new LifecycleEnvironment(metrics);
+        lifecycle.addServerLifecycleListener(startupTimer);
+        lifecycle.manage(new OciWarmup(ociTaskStore, mappers, 2, 5, startupTimer));
+        lifecycle.attach(server);
+
+        server.start();
+        try {
+            Assertions.assertTrue(connector.isOpen());
+            Assertions.assertEquals(7, openDuringWarmup.size());
+            Assertions.assertFalse(openDuringWarmup.contains(Boolean.TRUE));
+            Assertions.assertNotNull(startupTimer.getPhase("warmup"));
+            Assertions.assertNotNull(startupTimer.getPhase("ready"));
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testEmptyStore() throws Exception {
+        OciStartupTimer startupTimer = new OciStartupTimer();
+        OciWarmup warmup = new OciWarmup(new OciTaskMemoryStore(4), mappers, 4, 200, startupTimer);
+
+        warmup.start();
+
+        Assertions.assertTrue(appender.list.stream().noneMatch(event -> event.getLevel() == Level.WARN));
+        Assertions.assertNotNull(startupTimer.getPhase("warmup"));
+    }
+
+    @Test
+    public void testFailureDoesNotPreventStartup() throws Exception {
+        OciTaskReader ociTaskStore = Mockito.mock(OciTaskReader.class);
+        Mockito.when(ociTaskStore.scan(Mockito.anyLong(), Mockito.anyInt()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        OciStartupTimer startupTimer = new OciStartupTimer();
+
+        new OciWarmup(ociTaskStore, mappers, 1, 10, startupTimer).start();
+
+        Assertions.assertTrue(appender.list.stream().anyMatch(event -> event.getLevel() == Level.WARN));
+        Assertions.assertNotNull(startupTimer.getPhase("warmup"));
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.oci.task.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.oci.task.api.OciTaskStats;
+import org.oci.task.core.OciTask;
+import org.oci.task.db.OciTaskMemoryStore;
+
+import java.util.Collections;
+import java.util.Date;
+
+/**
+ * @brief Unit Test helper for {@link OciTaskStatsStore} and {@link OciTaskStatsTracker}
+ * @author rajeshkurup@live.com
+ */
+public class OciTaskStatsStoreTest {
+
+    @Test
+    public void testCountersFollowMutations() {
+        OciTaskStatsTracker tracker = new OciTaskStatsTracker();
+        OciTaskStatsStore store = new OciTaskStatsStore(new OciTaskMemoryStore(4), tracker);
+
+        OciTask overdue = store.save(newTask(1, false, new Date(1000L)));
+        OciTask open = store.save(newTask(2, false, null));
+        store.save(newTask(2, true, new Date(1000L)));
+
+        OciTaskStats stats = tracker.snapshot();
+
+        Assertions.assertEquals(3, stats.getTotal());
+        Assertions.assertEquals(2, stats.getOpen());
+        Assertions.assertEquals(1, stats.getCompleted());
+        Assertions.assertEquals(1, stats.getOverdue());
+        Assertions.assertEquals(Long.valueOf(1), stats.getByPriority().get(1));
+        Assertions.assertEquals(Long.valueOf(2), stats.getByPriority().get(2));
+
+        OciTask update = newTask(3, true, new Date(1000L));
+        update.setId(overdue.getId());
+        store.save(update);
+        store.delete(open.getId());
+
+        stats = tracker.snapshot();
+
+        Assertions.assertEquals(2, stats.getTotal());
+        Assertions.assertEquals(0, stats.getOpen());
+        Assertions.assertEquals(2, stats.getCompleted());
+        Assertions.assertEquals(0, stats.getOverdue());
+        Assertions.assertNull(stats.getByPriority().get(1));
+        Assertions.assertEquals(Long.valueOf(1), stats.getByPriority().get(2));
+        Assertions.assertEquals(Long.valueOf(1), stats.getByPriority().get(3));
+    }
+
+    @Test
+    public void testReconcileMatchesStorage() {
+        OciTaskMemoryStore memoryStore = new OciTaskMemoryStore(4);
+        memoryStore.save(newTask(1, false, new Date(1000L)));
+        memoryStore.save(newTask(1, true, null));
+        OciTaskStatsTracker tracker = new OciTaskStatsTracker();
+        tracker.onCreate(OciTaskStatsTracker.State.of(newTask(5, false, null)));
+
+        new OciTaskStatsReconciler(memoryStore, tracker, 0).reconcile();
+
+        OciTaskStats stats = tracker.snapshot();
+
+        Assertions.assertEquals(2, stats.getTotal());
+        Assertions.assertEquals(1, stats.getOpen());
+        Assertions.assertEquals(1, stats.getOverdue());
+        Assertions.assertEquals(Long.valueOf(2), stats.getByPriority().get(1));
+        Assertions.assertNull(stats.getByPriority().get(5));
+    }
+
+    @Test
+    public void testOverdueWhenDueDatePassesBeforeDelete() throws InterruptedException {
+        OciTaskStatsTracker tracker = new OciTaskStatsTracker();
+        OciTaskStatsStore store = new OciTaskStatsStore(new OciTaskMemoryStore(4), tracker);
+
+        OciTask task = store.save(newTask(1, false, new Date(System.currentTimeMillis() + 50L)));
+
+        Assertions.assertEquals(0, tracker.snapshot().getOverdue());
+
+        Thread.sleep(100L);
+
+        Assertions.assertEquals(1, tracker.snapshot().getOverdue());
+
+        store.delete(task.getId());
+
+        OciTaskStats stats = tracker.snapshot();
+
+        Assertions.assertEquals(0, stats.getOpen());
+        Assertions.assertEquals(0, stats.getOverdue());
+    }
+
+    @Test
+    public void testOverdueOverManyDueDates() {
+        OciTaskStatsTracker tracker = new OciTaskStatsTracker();
+        long now = System.currentTimeMillis();
+        for(int i = 1; i <= 100000; i++) {
+            tracker.onCreate(OciTaskStatsTracker.State.of(newTask(1, false, new Date(now - i))));
+            tracker.onCreate(OciTaskStatsTracker.State.of(newTask(1, false, new Date(now + 3600000L + i))));
+        }
+
+        Assertions.assertEquals(100000, tracker.snapshot().getOverdue());
+        // Passed due dates were moved into the overdue counter, so later reads do not visit them.
+        Assertions.assertEquals(100000, tracker.pendingDueDates());
+
+        for(int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(100000, tracker.snapshot().getOverdue());
+        }
+
+        tracker.onDelete(OciTaskStatsTracker.State.of(newTask(1, false, new Date(now - 1))));
+        tracker.onUpdate(OciTaskStatsTracker.State.of(newTask(1, false, new Date(now + 3600001L))),
+                OciTaskStatsTracker.State.of(newTask(1, false, new Date(now - 100001L))));
+
+        OciTaskStats stats = tracker.snapshot();
+
+        Assertions.assertEquals(199999, stats.getOpen());
+        Assertions.assertEquals(100000, stats.getOverdue());
+        Assertions.assertEquals(99999, tracker.pendingDueDates());
+    }
+
+    @Test
+    public void testResetKeepsOnlyPendingDueDates() {
+        OciTaskStatsTracker tracker = new OciTaskStatsTracker();
+        OciTaskStats stats = new OciTaskStats();
+        stats.setOpen(3);
+        stats.setOverdue(2);
+        long now = System.currentTimeMillis();
+
+        tracker.reset(stats, Collections.singletonMap(now + 50L, 1L), now);
+
+        Assertions.assertEquals(2, tracker.snapshot().getOverdue());
+
+        tracker.onDelete(OciTaskStatsTracker.State.of(newTask(1, false, new Date(now - 1000L))));
+
+        Assertions.assertEquals(1, tracker.snapshot().getOverdue());
+
+        tracker.advance(now + 51L);
+
+        Assertions.assertEquals(2, tracker.snapshot().getOverdue());
+        Assertions.assertEquals(0, tracker.pendingDueDates());
+    }
+
+    private static OciTask newTask(int priority, boolean completed, Date dueDate) {
+        OciTask task = new OciTask();
+        task.setTitle("test task");
+        task.setPriority(priority);
+        task.setCompleted(completed);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+}